@@ -0,0 +1,70 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import tools.Logger;
+
+/**
+ * A minimal benchmark harness: runs a task several times to let the JIT compiler warm up,
+ * then measures the average wall-clock time of the following runs.
+ * Each task returns a checksum, which is printed, so that the work can't be optimized away.
+ */
+public class Benchmark {
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+
+  /**
+   * Not allowed to instantiate the class.
+   */
+  private Benchmark() {
+  }
+
+  /**
+   * Measure the average execution time of a task.
+   *
+   * @param name The name of the task, used in the report
+   * @param task The task to run, it must return a checksum of the work
+   * @return Average time of one run, in milliseconds
+   */
+  public static double measure(String name, LongSupplier task) {
+    long checksum = 0;
+    for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+      checksum += task.getAsLong();
+    }
+    long startTime = System.nanoTime();
+    for (int i = 0; i < MEASURED_ROUNDS; ++i) {
+      checksum += task.getAsLong();
+    }
+    double averageMillis = (System.nanoTime() - startTime) / 1e6 / MEASURED_ROUNDS;
+    Logger.info(String.format("%-40s %10.3f ms/op  (checksum %d)", name, averageMillis, checksum));
+    return averageMillis;
+  }
+
+  /**
+   * Create a temporary input file, which is deleted when the JVM exits.
+   *
+   * @param lineCount     The number of lines to generate
+   * @param lineGenerator Generates the content of line i
+   * @return The path to the created file
+   * @throws IllegalStateException When the file can't be written
+   */
+  public static String createTempInput(int lineCount, IntFunction<String> lineGenerator) {
+    try {
+      File file = File.createTempFile("benchmark", ".input");
+      file.deleteOnExit();
+      try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+        for (int i = 0; i < lineCount; ++i) {
+          writer.write(lineGenerator.apply(i));
+          writer.newLine();
+        }
+      }
+      return file.getPath();
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not create a benchmark input file: " + e.getMessage());
+    }
+  }
+}
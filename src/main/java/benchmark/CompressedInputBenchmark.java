@@ -0,0 +1,73 @@
+package benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import tools.GrowableLongArray;
+import tools.InputFile;
+import tools.Logger;
+
+/**
+ * Compares the end-to-end time of reading and parsing the same input from a raw file
+ * and from a gzip-compressed file.
+ */
+public class CompressedInputBenchmark {
+  private static final int LINE_COUNT = 500_000;
+  private static final int NUMBERS_PER_LINE = 21;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Command line arguments, not used (enforced by Java).
+   * @throws IOException When the compressed input file can't be written
+   */
+  public static void main(String[] args) throws IOException {
+    Random random = new Random(42);
+    String rawFilename = Benchmark.createTempInput(LINE_COUNT, i -> createLine(random));
+    String compressedFilename = rawFilename + ".gz";
+    compress(rawFilename, compressedFilename);
+    Logger.info("Parsing " + LINE_COUNT + " lines with " + NUMBERS_PER_LINE + " integers each");
+
+    Benchmark.measure("Raw, buffered reader", () -> sumAll(new InputFile(rawFilename)));
+    Benchmark.measure("Raw, mapped file", () -> sumAll(InputFile.openMapped(rawFilename)));
+    Benchmark.measure("Gzip-compressed", () -> sumAll(new InputFile(compressedFilename)));
+  }
+
+  private static String createLine(Random random) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < NUMBERS_PER_LINE; ++i) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      sb.append(random.nextInt(2_000_000) - 1_000_000);
+    }
+    return sb.toString();
+  }
+
+  private static void compress(String sourceFilename, String destinationFilename)
+      throws IOException {
+    try (InputStream in = new FileInputStream(sourceFilename);
+         OutputStream out = new GZIPOutputStream(new FileOutputStream(destinationFilename))) {
+      in.transferTo(out);
+    }
+    new File(destinationFilename).deleteOnExit();
+  }
+
+  private static long sumAll(InputFile inputFile) {
+    long sum = 0;
+    GrowableLongArray numbers = new GrowableLongArray();
+    for (int line = 0; line < LINE_COUNT; ++line) {
+      int count = inputFile.readSpacedIntegerLine("", numbers);
+      long[] values = numbers.getBackingArray();
+      for (int i = 0; i < count; ++i) {
+        sum += values[i];
+      }
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import tools.Logger;
+import tools.graph.BidirectionalGraph;
+import tools.graph.CsrGraph;
+import tools.graph.DotWriter;
+import tools.graph.GraphBuilder;
+import tools.graph.GraphExporter;
+
+/**
+ * Compares writing a bidirectional graph with 10^6 connections: the string-keyed
+ * {@link DotWriter}, which builds a filtered set for each vertex, and the streaming
+ * {@link GraphExporter} over the CSR arrays, in both of its formats.
+ */
+public class GraphExportBenchmark {
+  private static final int CONNECTION_COUNT = 1_000_000;
+  private static final int CONNECTIONS_PER_VERTEX = 5;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Command line arguments, not used (enforced by Java).
+   * @throws IOException When the temporary output file can't be created
+   */
+  public static void main(String[] args) throws IOException {
+    CsrGraph graph = createRandomGraph();
+    BidirectionalGraph stringGraph = graph.toBidirectionalGraph();
+    File file = File.createTempFile("benchmark", ".out");
+    file.deleteOnExit();
+    String path = file.getPath();
+    Logger.info("Writing " + CONNECTION_COUNT + " connections between "
+        + graph.getVertexCount() + " vertices");
+
+    Benchmark.measure("DotWriter, string-keyed graph", () -> {
+      DotWriter.write(stringGraph, path);
+      return file.length();
+    });
+    Benchmark.measure("Streaming DOT", () -> export(graph, path, GraphExporter.Format.DOT));
+    Benchmark.measure("Streaming GraphML",
+        () -> export(graph, path, GraphExporter.Format.GRAPHML));
+  }
+
+  private static CsrGraph createRandomGraph() {
+    Random random = new Random(42);
+    int vertexCount = CONNECTION_COUNT / CONNECTIONS_PER_VERTEX;
+    GraphBuilder builder = new GraphBuilder(true);
+    for (int v = 0; v < vertexCount; ++v) {
+      builder.addVertex("v" + v);
+    }
+    for (int i = 0; i < CONNECTION_COUNT; ++i) {
+      builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount), 1);
+    }
+    return builder.build();
+  }
+
+  private static long export(CsrGraph graph, String path, GraphExporter.Format format) {
+    try {
+      GraphExporter.write(graph, path, format);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new File(path).length();
+  }
+}
@@ -0,0 +1,105 @@
+package benchmark;
+
+import java.util.Random;
+import tools.CharArrayGrid;
+import tools.CharacterGrid;
+import tools.FlatCharGrid;
+import tools.Logger;
+import tools.StringGrid;
+
+/**
+ * Compares sequential and random access of characters in the different grid implementations.
+ * When all the implementations are measured in the same JVM, the grid access calls become
+ * megamorphic and the later measurements get slower. Specify the class name of one grid
+ * implementation as the command line argument to measure only that one.
+ */
+public class GridAccessBenchmark {
+  private static final int SIZE = 1000;
+  private static final int RANDOM_ACCESS_COUNT = SIZE * SIZE;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Optional: the class name of the grid implementation to measure.
+   */
+  public static void main(String[] args) {
+    String selected = args.length > 0 ? args[0] : "";
+    Random random = new Random(42);
+    StringGrid stringGrid = new StringGrid();
+    CharArrayGrid charArrayGrid = new CharArrayGrid();
+    FlatCharGrid flatGrid = new FlatCharGrid();
+    for (int row = 0; row < SIZE; ++row) {
+      String line = createRow(random);
+      stringGrid.appendRow(line);
+      charArrayGrid.appendRow(line);
+      flatGrid.appendRow(line);
+    }
+    int[] randomRows = random.ints(RANDOM_ACCESS_COUNT, 0, SIZE).toArray();
+    int[] randomColumns = random.ints(RANDOM_ACCESS_COUNT, 0, SIZE).toArray();
+    Logger.info("Grid of " + SIZE + "x" + SIZE + " characters");
+
+    if (selected.isEmpty() || selected.equals("StringGrid")) {
+      Benchmark.measure("Sequential, StringGrid", () -> sumSequentially(stringGrid));
+      Benchmark.measure("Random, StringGrid",
+          () -> sumRandomly(stringGrid, randomRows, randomColumns));
+    }
+    if (selected.isEmpty() || selected.equals("CharArrayGrid")) {
+      Benchmark.measure("Sequential, CharArrayGrid", () -> sumSequentially(charArrayGrid));
+      Benchmark.measure("Random, CharArrayGrid",
+          () -> sumRandomly(charArrayGrid, randomRows, randomColumns));
+    }
+    if (selected.isEmpty() || selected.equals("FlatCharGrid")) {
+      Benchmark.measure("Sequential, FlatCharGrid", () -> sumSequentially(flatGrid));
+      Benchmark.measure("Sequential, FlatCharGrid unchecked",
+          () -> sumSequentiallyUnchecked(flatGrid));
+      Benchmark.measure("Random, FlatCharGrid",
+          () -> sumRandomly(flatGrid, randomRows, randomColumns));
+      Benchmark.measure("Random, FlatCharGrid unchecked",
+          () -> sumRandomlyUnchecked(flatGrid, randomRows, randomColumns));
+    }
+  }
+
+  private static String createRow(Random random) {
+    StringBuilder sb = new StringBuilder();
+    for (int column = 0; column < SIZE; ++column) {
+      sb.append((char) ('0' + random.nextInt(10)));
+    }
+    return sb.toString();
+  }
+
+  private static long sumSequentially(CharacterGrid grid) {
+    long sum = 0;
+    for (int row = 0; row < grid.getRowCount(); ++row) {
+      for (int column = 0; column < grid.getColumnCount(); ++column) {
+        sum += grid.getCharacter(row, column);
+      }
+    }
+    return sum;
+  }
+
+  private static long sumSequentiallyUnchecked(FlatCharGrid grid) {
+    long sum = 0;
+    for (int row = 0; row < grid.getRowCount(); ++row) {
+      for (int column = 0; column < grid.getColumnCount(); ++column) {
+        sum += grid.getCharacterUnchecked(row, column);
+      }
+    }
+    return sum;
+  }
+
+  private static long sumRandomly(CharacterGrid grid, int[] rows, int[] columns) {
+    long sum = 0;
+    for (int i = 0; i < rows.length; ++i) {
+      sum += grid.getCharacter(rows[i], columns[i]);
+    }
+    return sum;
+  }
+
+  private static long sumRandomlyUnchecked(FlatCharGrid grid, int[] rows, int[] columns) {
+    long sum = 0;
+    for (int i = 0; i < rows.length; ++i) {
+      sum += grid.getCharacterUnchecked(rows[i], columns[i]);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,113 @@
+package benchmark;
+
+import java.util.Random;
+import tools.GridScanner;
+import tools.Logger;
+import tools.ScalarGridScanner;
+
+/**
+ * Compares the scalar grid scanner with the fastest one available (the SIMD scanner when
+ * compiled with the "simd" profile and run with --add-modules jdk.incubator.vector).
+ * The grids are mostly empty ('.'), with a few '#' characters, similar to the galaxy maps.
+ */
+public class GridScanBenchmark {
+  private static final int[] SIZES = {1000, 10000};
+  private static final char EMPTY = '.';
+  private static final char FILLED = '#';
+  private static final int FILLED_PER_MILLE = 2;
+  private static final int WARMUP_ROUNDS = 50;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Command line arguments, not used
+   */
+  public static void main(String[] args) {
+    GridScanner scalar = new ScalarGridScanner();
+    GridScanner fastest = GridScanner.getInstance();
+    warmUp(scalar, fastest);
+    for (int size : SIZES) {
+      char[] chars = createGrid(size);
+      Logger.info("Grid of " + size + "x" + size + " characters");
+      measureAll("scalar", scalar, chars, size);
+      if (fastest.getClass() != ScalarGridScanner.class) {
+        measureAll(fastest.getClass().getSimpleName(), fastest, chars, size);
+      }
+    }
+  }
+
+  /**
+   * The Vector API code is fully intrinsified only by the optimizing JIT compiler, which needs
+   * more warm-up runs than the benchmark harness does by default.
+   */
+  private static void warmUp(GridScanner... scanners) {
+    int size = SIZES[0];
+    char[] chars = createGrid(size);
+    long checksum = 0;
+    for (GridScanner scanner : scanners) {
+      for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+        checksum += search(scanner, chars) + countEmptyRows(scanner, chars, size)
+            + countEmptyColumns(scanner, chars, size) + sumRowDifferences(scanner, chars, size);
+      }
+    }
+    Logger.info("Warm-up done (checksum " + checksum + ")");
+  }
+
+  private static char[] createGrid(int size) {
+    Random random = new Random(42);
+    char[] chars = new char[size * size];
+    for (int i = 0; i < chars.length; ++i) {
+      chars[i] = random.nextInt(1000) < FILLED_PER_MILLE ? FILLED : EMPTY;
+    }
+    return chars;
+  }
+
+  private static void measureAll(String name, GridScanner scanner, char[] chars, int size) {
+    Benchmark.measure("Search, " + name, () -> search(scanner, chars));
+    Benchmark.measure("Empty rows, " + name, () -> countEmptyRows(scanner, chars, size));
+    Benchmark.measure("Empty columns, " + name, () -> countEmptyColumns(scanner, chars, size));
+    Benchmark.measure("Row differences, " + name, () -> sumRowDifferences(scanner, chars, size));
+  }
+
+  private static long search(GridScanner scanner, char[] chars) {
+    long count = 0;
+    int i = scanner.indexOf(chars, 0, chars.length, FILLED);
+    while (i >= 0) {
+      count++;
+      i = scanner.indexOf(chars, i + 1, chars.length, FILLED);
+    }
+    return count;
+  }
+
+  private static long countEmptyRows(GridScanner scanner, char[] chars, int size) {
+    long count = 0;
+    for (int row = 0; row < size; ++row) {
+      if (scanner.isFilledWith(chars, row * size, (row + 1) * size, EMPTY)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static long countEmptyColumns(GridScanner scanner, char[] chars, int size) {
+    boolean[] differs = new boolean[size];
+    for (int row = 0; row < size; ++row) {
+      scanner.markDifferentColumns(chars, row * size, size, EMPTY, differs);
+    }
+    long count = 0;
+    for (boolean d : differs) {
+      if (!d) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static long sumRowDifferences(GridScanner scanner, char[] chars, int size) {
+    long sum = 0;
+    for (int row = 1; row < size; ++row) {
+      sum += scanner.countDifferences(chars, (row - 1) * size, chars, row * size, size);
+    }
+    return sum;
+  }
+}
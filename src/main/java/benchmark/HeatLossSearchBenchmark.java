@@ -0,0 +1,52 @@
+package benchmark;
+
+import java.util.Random;
+import problem.day17.CrucibleRules;
+import problem.day17.HeatLossSearch;
+import problem.day17.SegmentJumpSearch;
+import tools.FlatCharGrid;
+import tools.Logger;
+
+/**
+ * Measures the day 17 Dijkstra searches on random heat maps up to 1000x1000 blocks, with the
+ * crucible rules of both parts: the block-by-block search (packed states, Dial bucket queue)
+ * against the search which jumps whole straight segments between turns (prefix sums).
+ * The original relaxation engine (problem.day17.Maze) is not measured here, it takes seconds
+ * already on the 141x141 puzzle input; run the day 17 solver with --legacy to compare.
+ */
+public class HeatLossSearchBenchmark {
+  private static final int[] SIZES = {141, 1000};
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Command line arguments, not used (enforced by Java).
+   */
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    for (int size : SIZES) {
+      FlatCharGrid grid = createRandomGrid(random, size);
+      Logger.info("Heat map of " + size + "x" + size + " blocks");
+      Benchmark.measure("Crucible (1 - 3 moves)",
+          () -> new HeatLossSearch(grid, CrucibleRules.PART_ONE).findShortestPath());
+      Benchmark.measure("Ultra crucible (4 - 10 moves)",
+          () -> new HeatLossSearch(grid, CrucibleRules.PART_TWO).findShortestPath());
+      Benchmark.measure("Crucible (1 - 3 moves), segment jumps",
+          () -> new SegmentJumpSearch(grid, CrucibleRules.PART_ONE).findShortestPath());
+      Benchmark.measure("Ultra crucible (4 - 10 moves), segment jumps",
+          () -> new SegmentJumpSearch(grid, CrucibleRules.PART_TWO).findShortestPath());
+    }
+  }
+
+  private static FlatCharGrid createRandomGrid(Random random, int size) {
+    FlatCharGrid grid = new FlatCharGrid();
+    char[] row = new char[size];
+    for (int i = 0; i < size; ++i) {
+      for (int j = 0; j < size; ++j) {
+        row[j] = (char) ('1' + random.nextInt(9));
+      }
+      grid.appendRow(new String(row));
+    }
+    return grid;
+  }
+}
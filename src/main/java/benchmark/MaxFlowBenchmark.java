@@ -0,0 +1,55 @@
+package benchmark;
+
+import java.util.Random;
+import tools.Logger;
+import tools.graph.CsrGraph;
+import tools.graph.FlowResult;
+import tools.graph.GraphBuilder;
+import tools.graph.MaxFlow;
+
+/**
+ * Measures the max-flow search on random graphs with 10^5 and 10^6 edges: a directed graph with
+ * random capacities, and a bidirectional graph with unit capacities (like the day 25 graph).
+ */
+public class MaxFlowBenchmark {
+  private static final int[] EDGE_COUNTS = {100_000, 1_000_000};
+  private static final int EDGES_PER_VERTEX = 5;
+  private static final int MAX_CAPACITY = 100;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Command line arguments, not used
+   */
+  public static void main(String[] args) {
+    for (int edgeCount : EDGE_COUNTS) {
+      CsrGraph directed = createRandomGraph(edgeCount, false);
+      CsrGraph bidirectional = createRandomGraph(edgeCount, true);
+      int sink = edgeCount / EDGES_PER_VERTEX - 1;
+      Logger.info(edgeCount + " edges, " + directed.getVertexCount() + " vertices");
+      Benchmark.measure("Directed, random capacities", () -> findFlow(directed, sink));
+      Benchmark.measure("Bidirectional, unit capacities", () -> findFlow(bidirectional, sink));
+    }
+  }
+
+  private static CsrGraph createRandomGraph(int edgeCount, boolean bidirectional) {
+    Random random = new Random(42);
+    int vertexCount = edgeCount / EDGES_PER_VERTEX;
+    GraphBuilder builder = new GraphBuilder(bidirectional);
+    for (int v = 0; v < vertexCount; ++v) {
+      builder.addVertex("v" + v);
+    }
+    for (int i = 0; i < edgeCount; ++i) {
+      int u = random.nextInt(vertexCount);
+      int v = random.nextInt(vertexCount);
+      long capacity = bidirectional ? 1 : 1 + random.nextInt(MAX_CAPACITY);
+      builder.addEdge(u, v, capacity);
+    }
+    return builder.build();
+  }
+
+  private static long findFlow(CsrGraph graph, int sink) {
+    FlowResult result = new MaxFlow(graph).find(0, sink);
+    return result.getFlowValue() * 31 + result.getSourceSideSize();
+  }
+}
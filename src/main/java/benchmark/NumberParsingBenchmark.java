@@ -0,0 +1,68 @@
+package benchmark;
+
+import java.util.List;
+import java.util.Random;
+import tools.GrowableLongArray;
+import tools.InputFile;
+import tools.Logger;
+
+/**
+ * Compares reading lines of space-separated integers (the format used in day 5, 6 and 9)
+ * into boxed lists versus reading them into a reusable primitive array.
+ */
+public class NumberParsingBenchmark {
+  private static final int LINE_COUNT = 200_000;
+  private static final int NUMBERS_PER_LINE = 21;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Command line arguments, not used (enforced by Java).
+   */
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    String filename = Benchmark.createTempInput(LINE_COUNT, i -> createLine(random));
+    Logger.info("Parsing " + LINE_COUNT + " lines with " + NUMBERS_PER_LINE + " integers each");
+
+    Benchmark.measure("Boxed list, buffered reader", () -> sumWithLists(new InputFile(filename)));
+    Benchmark.measure("Primitive array, buffered reader",
+        () -> sumWithArray(new InputFile(filename)));
+    Benchmark.measure("Primitive array, mapped file",
+        () -> sumWithArray(InputFile.openMapped(filename)));
+  }
+
+  private static String createLine(Random random) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < NUMBERS_PER_LINE; ++i) {
+      if (i > 0) {
+        sb.append(random.nextBoolean() ? " " : "  ");
+      }
+      sb.append(random.nextInt(2_000_000) - 1_000_000);
+    }
+    return sb.toString();
+  }
+
+  private static long sumWithLists(InputFile inputFile) {
+    long sum = 0;
+    for (int line = 0; line < LINE_COUNT; ++line) {
+      List<Long> numbers = inputFile.readSpacedIntegerLine("");
+      for (Long n : numbers) {
+        sum += n;
+      }
+    }
+    return sum;
+  }
+
+  private static long sumWithArray(InputFile inputFile) {
+    long sum = 0;
+    GrowableLongArray numbers = new GrowableLongArray();
+    for (int line = 0; line < LINE_COUNT; ++line) {
+      int count = inputFile.readSpacedIntegerLine("", numbers);
+      long[] values = numbers.getBackingArray();
+      for (int i = 0; i < count; ++i) {
+        sum += values[i];
+      }
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,73 @@
+package benchmark;
+
+import java.util.Random;
+import tools.InputFile;
+import tools.LineIterator;
+import tools.LineSlice;
+import tools.Logger;
+import tools.ParallelLineReducer;
+
+/**
+ * Measures how the parallel line processing scales with the number of threads. The workload is
+ * similar to the calibration values of day 1: find the first and last digit on each line.
+ */
+public class ParallelLinesBenchmark {
+  private static final int LINE_COUNT = 5_000_000;
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16};
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Command line arguments, not used (enforced by Java).
+   */
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    String filename = Benchmark.createTempInput(LINE_COUNT, i -> createLine(random));
+    Logger.info("Processing " + LINE_COUNT + " lines, "
+        + Runtime.getRuntime().availableProcessors() + " processors available");
+
+    Benchmark.measure("Sequential, line iterator", () -> sumSequentially(filename));
+    double singleThreadTime = 0;
+    for (int threads : THREAD_COUNTS) {
+      double time = Benchmark.measure("Parallel, " + threads + " threads", () ->
+          new ParallelLineReducer(InputFile.openMapped(filename), threads)
+              .sum(ParallelLinesBenchmark::findCalibrationValue));
+      if (threads == 1) {
+        singleThreadTime = time;
+      }
+      Logger.info(String.format("    speedup: %.2f", singleThreadTime / time));
+    }
+  }
+
+  private static String createLine(Random random) {
+    StringBuilder sb = new StringBuilder();
+    int length = 20 + random.nextInt(40);
+    for (int i = 0; i < length; ++i) {
+      sb.append(random.nextInt(8) == 0 ? (char) ('1' + random.nextInt(9))
+          : (char) ('a' + random.nextInt(26)));
+    }
+    sb.append(random.nextInt(10));
+    return sb.toString();
+  }
+
+  private static long sumSequentially(String filename) {
+    long sum = 0;
+    LineIterator lines = new LineIterator(new InputFile(filename));
+    while (lines.hasNext()) {
+      sum += findCalibrationValue(LineSlice.fromString(lines.next()));
+    }
+    return sum;
+  }
+
+  private static long findCalibrationValue(LineSlice line) {
+    int first = 0;
+    while (first < line.length() && !Character.isDigit(line.charAt(first))) {
+      ++first;
+    }
+    int last = line.length() - 1;
+    while (last >= 0 && !Character.isDigit(line.charAt(last))) {
+      --last;
+    }
+    return (line.charAt(first) - '0') * 10L + (line.charAt(last) - '0');
+  }
+}
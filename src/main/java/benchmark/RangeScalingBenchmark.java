@@ -0,0 +1,63 @@
+package benchmark;
+
+import java.util.Random;
+import tools.IntegerRange;
+import tools.Logger;
+import tools.NonOverlappingRanges;
+
+/**
+ * Measures how NonOverlappingRanges scales with the number of ranges: adds random short ranges
+ * (most of them disjoint, some overlapping), then runs coverage queries and reads all the ranges
+ * by index. The larger collections take seconds to build, so each size is measured once, after
+ * warming up on a small collection.
+ */
+public class RangeScalingBenchmark {
+  private static final int MIN_RANGE_COUNT = 1000;
+  private static final int MAX_RANGE_COUNT = 10_000_000;
+  private static final int WARMUP_RANGE_COUNT = 100_000;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int SPREAD = 20;
+  private static final int MAX_RANGE_LENGTH = 10;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Optional: the maximum number of ranges (default 10^7, needs a large heap)
+   */
+  public static void main(String[] args) {
+    int maxRangeCount = args.length > 0 ? Integer.parseInt(args[0]) : MAX_RANGE_COUNT;
+    long checksum = 0;
+    for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+      checksum += run(WARMUP_RANGE_COUNT);
+    }
+    Logger.info("Warm-up done (checksum " + checksum + ")");
+    for (int count = MIN_RANGE_COUNT; count <= maxRangeCount; count *= 10) {
+      long startTime = System.nanoTime();
+      checksum = run(count);
+      double millis = (System.nanoTime() - startTime) / 1e6;
+      Logger.info(String.format("%,12d ranges %12.1f ms %10.1f ns/range  (checksum %d)",
+          count, millis, millis * 1e6 / count, checksum));
+    }
+  }
+
+  private static long run(int count) {
+    Random random = new Random(42);
+    long maxStart = (long) count * SPREAD;
+    NonOverlappingRanges ranges = new NonOverlappingRanges();
+    for (int i = 0; i < count; ++i) {
+      long start = (long) (random.nextDouble() * maxStart);
+      ranges.add(new IntegerRange(start, start + random.nextInt(MAX_RANGE_LENGTH)));
+    }
+    long checksum = ranges.getRangeCount();
+    for (int i = 0; i < count; ++i) {
+      long start = (long) (random.nextDouble() * maxStart);
+      if (ranges.containsRangeFully(new IntegerRange(start, start + 1))) {
+        checksum++;
+      }
+    }
+    for (int i = 0; i < ranges.getRangeCount(); ++i) {
+      checksum += ranges.getRange(i).getLength();
+    }
+    return checksum;
+  }
+}
@@ -1,16 +1,16 @@
 package problem.day01;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import tools.InputFile;
 import tools.Logger;
+import tools.ParallelLineReducer;
 
 /**
  * Solution for the problem of Day 01
  * See description here: https://adventofcode.com/2023/day/1
  * The main idea: find the first and last digit on every line, form a two-digit number.
- * Then sum all the two-digit numbers.
+ * Then sum all the two-digit numbers. The lines are processed in parallel.
  */
 public class Solver {
   Map<String, Integer> digits = new HashMap<>();
@@ -27,21 +27,15 @@ public class Solver {
   }
 
   private void solve() {
-    InputFile inputFile = new InputFile("problem01.input");
+    InputFile inputFile = InputFile.openMapped("problem01.input");
     if (!inputFile.exists()) {
       Logger.error("Input file not found");
       return;
     }
 
     initializeDigits();
-    long sum = 0;
-
-    List<String> lines = inputFile.readLinesUntilEmptyLine();
-    for (String line : lines) {
-      int value = findCalibrationValue(line);
-      Logger.info(line + " -> " + value);
-      sum += value;
-    }
+    long sum = new ParallelLineReducer(inputFile)
+        .sum(line -> findCalibrationValue(line.toString()));
 
     Logger.info("Sum of calibration values: " + sum);
   }
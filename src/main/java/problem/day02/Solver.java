@@ -1,8 +1,8 @@
 package problem.day02;
 
-import java.util.List;
 import tools.InputFile;
 import tools.IntegerOrEmpty;
+import tools.LineIterator;
 import tools.Logger;
 
 /**
@@ -37,9 +37,9 @@ public class Solver {
 
     long sum = 0;
     long powerSum = 0;
-    List<String> lines = inputFile.readLinesUntilEmptyLine();
-    for (String line : lines) {
-      Game game = parseGame(line);
+    LineIterator lines = new LineIterator(inputFile);
+    while (lines.hasNext()) {
+      Game game = parseGame(lines.next());
       if (game.isPossibleWith(RED_BALL_COUNT, GREEN_BALL_COUNT, BLUE_BALL_COUNT)) {
         sum += game.getId();
       }
@@ -1,11 +1,10 @@
 package problem.day04;
 
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 import tools.InputFile;
 import tools.Logger;
+import tools.ParallelLineReducer;
 
 /**
  * Solution for the problem of Day 04
@@ -14,8 +13,7 @@ import tools.Logger;
 public class Solver {
   int numberStartPosition;
   int numberSeparatorPosition;
-  List<Integer> winningNumberCounts = new ArrayList<>();
-  List<Long> points = new ArrayList<>();
+  long[] winningNumberCounts;
 
   /**
    * Run the solver - solve the puzzle.
@@ -29,17 +27,20 @@ public class Solver {
   }
 
   private void solve() {
-    InputFile inputFile = new InputFile("problem04.input");
+    InputFile inputFile = InputFile.openMapped("problem04.input");
     if (!inputFile.exists()) {
       Logger.error("Input file not found");
       return;
     }
 
-    List<String> lines = inputFile.readLinesUntilEmptyLine();
-
-    initializeSeparators(lines.get(0));
-    calculatePoints(lines);
-    calculateFinalCardCount(lines);
+    String firstLine = inputFile.peekLine();
+    if (firstLine == null) {
+      Logger.error("Input file is empty");
+      return;
+    }
+    initializeSeparators(firstLine);
+    calculatePoints(new ParallelLineReducer(inputFile));
+    calculateFinalCardCount();
   }
 
 
@@ -54,23 +55,25 @@ public class Solver {
     }
   }
 
-  private void calculatePoints(List<String> lines) {
+  private void calculatePoints(ParallelLineReducer cards) {
+    // The cards are parsed in parallel, the winning number counts are needed for part two
+    winningNumberCounts = cards.map(line -> countWinningNumbers(line.toString()));
     long totalPoints = 0;
-    for (String line : lines) {
-      totalPoints += calculatePointsForCard(line);
+    for (long winningNumberCount : winningNumberCounts) {
+      totalPoints += calculatePointsForCard(winningNumberCount);
     }
     Logger.info("Total points: " + totalPoints);
   }
 
-  private void calculateFinalCardCount(List<String> lines) {
-    long[] finalCardCounts = new long[lines.size()];
+  private void calculateFinalCardCount() {
+    long[] finalCardCounts = new long[winningNumberCounts.length];
     long cardCount = 0;
 
     // Look at the cards backwards, because card n is dependent on cards n+1, n+2, ..., n+w,
     // where w is the number of winning numbers in card n
     for (int i = finalCardCounts.length - 1; i >= 0; --i) {
       finalCardCounts[i] = 1;
-      int w = winningNumberCounts.get(i);
+      long w = winningNumberCounts[i];
       for (int j = i + 1; j <= i + w && j < finalCardCounts.length; ++j) {
         finalCardCounts[i] += finalCardCounts[j];
       }
@@ -80,8 +83,12 @@ public class Solver {
     Logger.info("Total number of cards in the end: " + cardCount);
   }
 
-  private long calculatePointsForCard(String line) {
-    long pointsForThisCard = 0;
+  private long calculatePointsForCard(long winningNumberCount) {
+    // The first winning number gives one point, each following one doubles the points
+    return winningNumberCount > 0 ? 1L << (winningNumberCount - 1) : 0;
+  }
+
+  private long countWinningNumbers(String line) {
     int winningNumberCount = 0;
     Set<Integer> winning = getWinningNumbers(line);
     Set<Integer> numbersGot = getNumbersGot(line);
@@ -89,22 +96,10 @@ public class Solver {
     for (Integer n : numbersGot) {
       if (winning.contains(n)) {
         winningNumberCount++;
-        if (pointsForThisCard == 0) {
-          pointsForThisCard = 1;
-        } else {
-          pointsForThisCard <<= 1;
-        }
       }
     }
 
-    if (winningNumberCount == 0) {
-      pointsForThisCard = 0;
-    }
-
-    winningNumberCounts.add(winningNumberCount);
-    points.add(pointsForThisCard);
-
-    return pointsForThisCard;
+    return winningNumberCount;
   }
 
   private Set<Integer> getWinningNumbers(String line) {
@@ -0,0 +1,107 @@
+package problem.day05;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A read-only form of a chain of IntegerRangeMaps, for fast lookups. Each map of the chain is
+ * a stage with its ranges sorted by their start, stored in parallel arrays (start, end, delta),
+ * which are searched with binary search. The stages are walked in a loop, not recursively.
+ * A lookup allocates nothing and nothing is modified after creation, so the map can be used
+ * by many threads at the same time.
+ */
+public final class CompiledRangeMap {
+  private final long[][] starts;
+  private final long[][] ends;
+  private final long[][] deltas;
+
+  /**
+   * Create the compiled map.
+   *
+   * @param stages The sorted ranges of each map in the chain, in the order of mapping
+   * @throws IllegalArgumentException When the source ranges of a map overlap
+   */
+  CompiledRangeMap(List<List<IntegerRangePair>> stages) throws IllegalArgumentException {
+    int stageCount = stages.size();
+    starts = new long[stageCount][];
+    ends = new long[stageCount][];
+    deltas = new long[stageCount][];
+    for (int stage = 0; stage < stageCount; ++stage) {
+      List<IntegerRangePair> pairs = stages.get(stage);
+      starts[stage] = new long[pairs.size()];
+      ends[stage] = new long[pairs.size()];
+      deltas[stage] = new long[pairs.size()];
+      for (int i = 0; i < pairs.size(); ++i) {
+        IntegerRangePair pair = pairs.get(i);
+        if (i > 0 && pair.getFirstStart() <= ends[stage][i - 1]) {
+          throw new IllegalArgumentException("Overlapping ranges in map " + stage + ": "
+              + pairs.get(i - 1) + ", " + pair);
+        }
+        starts[stage][i] = pair.getFirstStart();
+        ends[stage][i] = pair.getFirstEnd();
+        deltas[stage][i] = pair.getDelta();
+      }
+    }
+  }
+
+  /**
+   * Get the number of maps in the chain.
+   *
+   * @return The number of stages
+   */
+  public int getStageCount() {
+    return starts.length;
+  }
+
+  /**
+   * Find the final mapping for the given seed, through all the stages.
+   *
+   * @param seed The initial seed to use
+   * @return The final mapping
+   */
+  public long findFinalMappingFor(long seed) {
+    long value = seed;
+    for (int stage = 0; stage < starts.length; ++stage) {
+      value = findMappingFor(stage, value);
+    }
+    return value;
+  }
+
+  private long findMappingFor(int stage, long value) {
+    long[] stageStarts = starts[stage];
+    int index = Arrays.binarySearch(stageStarts, value);
+    if (index < 0) {
+      // Not a start: the candidate is the last range starting before the value
+      index = -index - 2;
+    }
+    if (index >= 0 && value <= ends[stage][index]) {
+      value += deltas[stage][index];
+    }
+    return value;
+  }
+
+  /**
+   * Find the final mapping for all the seeds, stage by stage. Each stage is applied to all the
+   * seeds before the next one, so that its arrays stay in the cache.
+   *
+   * @param seeds The seeds to map, replaced by their final mappings
+   */
+  public void findFinalMappingsFor(long[] seeds) {
+    findFinalMappingsFor(seeds, 0, seeds.length);
+  }
+
+  /**
+   * Find the final mapping for a part of the seed array, stage by stage.
+   *
+   * @param seeds The seeds to map, the ones in [from, to) are replaced by their final mappings
+   * @param from  The index of the first seed to map (inclusive)
+   * @param to    The index of the last seed to map (exclusive)
+   */
+  public void findFinalMappingsFor(long[] seeds, int from, int to) {
+    for (int stage = 0; stage < starts.length; ++stage) {
+      for (int i = from; i < to; ++i) {
+        seeds[i] = findMappingFor(stage, seeds[i]);
+      }
+    }
+  }
+}
@@ -1,16 +1,23 @@
 package problem.day05;
 
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import tools.GrowableLongArray;
+import tools.IntegerRange;
+import tools.RangeSet;
 
 /**
  * A map holding a mapping of an integer range into another range, and a reference to another map.
+ * The values not covered by any of the ranges are mapped to themselves.
  */
 public class IntegerRangeMap {
   private IntegerRangeMap linkedMap = null;
   private final List<IntegerRangePair> pairs = new LinkedList<>();
+  private List<IntegerRangePair> sortedPairs = null;
 
   public void setLinkedMap(IntegerRangeMap linkedMap) {
     this.linkedMap = linkedMap;
@@ -18,6 +25,16 @@ public class IntegerRangeMap {
 
   public void addRange(long sourceStart, long destStart, long length) {
     pairs.add(new IntegerRangePair(sourceStart, destStart, length));
+    sortedPairs = null;
+  }
+
+  /**
+   * Get the number of mapped ranges (not including the linked maps).
+   *
+   * @return The number of ranges in this map
+   */
+  public int getRangeCount() {
+    return pairs.size();
   }
 
   /**
@@ -47,6 +64,162 @@ public class IntegerRangeMap {
     return mapping;
   }
 
+  /**
+   * Map a whole set of ranges (recursively), using the linked maps.
+   * Each range is split where the source ranges of the map start and end, each piece is
+   * translated at once.
+   *
+   * @param seeds The initial seed ranges
+   * @return The final mapping of all the seeds
+   */
+  public RangeSet findFinalMappingFor(RangeSet seeds) {
+    RangeSet mapped = findMappingFor(seeds);
+    if (linkedMap != null) {
+      mapped = linkedMap.findFinalMappingFor(mapped);
+    }
+    return mapped;
+  }
+
+  private RangeSet findMappingFor(RangeSet seeds) {
+    List<IntegerRange> mapped = new ArrayList<>();
+    for (int i = 0; i < seeds.getRangeCount(); ++i) {
+      mapped.addAll(findMappingFor(seeds.getRange(i)));
+    }
+    return RangeSet.of(mapped);
+  }
+
+  /**
+   * Map a range of seeds (not using the linked maps).
+   *
+   * @param range The range of seeds to map
+   * @return The mapped ranges, the pieces of the range mapped separately
+   */
+  public List<IntegerRange> findMappingFor(IntegerRange range) {
+    List<IntegerRange> mapped = new ArrayList<>();
+    GrowableLongArray pieces = splitRange(range.getStart(), range.getEnd());
+    for (int i = 0; i < pieces.size(); i += 3) {
+      long delta = pieces.get(i + 2);
+      mapped.add(new IntegerRange(pieces.get(i) + delta, pieces.get(i + 1) + delta));
+    }
+    return mapped;
+  }
+
+  /**
+   * Split the range where the source ranges of the map start and end.
+   *
+   * @param start The start of the range to split
+   * @param end   The end of the range to split
+   * @return Triplets (start, end, delta) for each piece of the range, in ascending order;
+   *     the delta is zero for pieces not covered by the map
+   */
+  private GrowableLongArray splitRange(long start, long end) {
+    GrowableLongArray pieces = new GrowableLongArray();
+    long position = start;
+    for (IntegerRangePair pair : getSortedPairs()) {
+      if (position > end) {
+        break;
+      }
+      if (pair.getFirstEnd() >= position && pair.getFirstStart() <= end) {
+        if (pair.getFirstStart() > position) {
+          addPiece(pieces, position, pair.getFirstStart() - 1, 0);
+          position = pair.getFirstStart();
+        }
+        long pieceEnd = Math.min(end, pair.getFirstEnd());
+        addPiece(pieces, position, pieceEnd, pair.getDelta());
+        position = pieceEnd + 1;
+      }
+    }
+    if (position <= end) {
+      addPiece(pieces, position, end, 0);
+    }
+    return pieces;
+  }
+
+  private static void addPiece(GrowableLongArray pieces, long start, long end, long delta) {
+    pieces.add(start);
+    pieces.add(end);
+    pieces.add(delta);
+  }
+
+  private List<IntegerRangePair> getSortedPairs() {
+    if (sortedPairs == null) {
+      sortedPairs = new ArrayList<>(pairs);
+      sortedPairs.sort(Comparator.comparingLong(IntegerRangePair::getFirstStart));
+    }
+    return sortedPairs;
+  }
+
+  /**
+   * Create a read-only form of this map and all the linked maps, with fast lookups.
+   *
+   * @return The compiled map chain
+   * @throws IllegalArgumentException When the source ranges of a map overlap
+   */
+  public CompiledRangeMap compile() throws IllegalArgumentException {
+    List<List<IntegerRangePair>> stages = new ArrayList<>();
+    IntegerRangeMap map = this;
+    while (map != null) {
+      stages.add(map.getSortedPairs());
+      map = map.linkedMap;
+    }
+    return new CompiledRangeMap(stages);
+  }
+
+  /**
+   * Compose this map and all the linked maps into a single map: a seed is mapped by the
+   * result in one step to the same value as it would be mapped through the whole chain.
+   *
+   * @return A new map without any linked map, with the ranges sorted
+   */
+  public IntegerRangeMap createComposedMap() {
+    IntegerRangeMap composed = new IntegerRangeMap();
+    composed.pairs.addAll(getSortedPairs());
+    IntegerRangeMap next = linkedMap;
+    while (next != null) {
+      composed = composed.composeWith(next);
+      next = next.linkedMap;
+    }
+    composed.pairs.sort(Comparator.comparingLong(IntegerRangePair::getFirstStart));
+    return composed;
+  }
+
+  /**
+   * Compose two maps (linked maps are not used): first this, then the other map.
+   * A seed within a source range of this map is mapped, and the result is split by the
+   * other map. A seed not covered by this map is mapped by the other map only.
+   */
+  private IntegerRangeMap composeWith(IntegerRangeMap other) {
+    IntegerRangeMap composed = new IntegerRangeMap();
+    List<IntegerRange> covered = new ArrayList<>();
+    for (IntegerRangePair pair : getSortedPairs()) {
+      long delta = pair.getDelta();
+      covered.add(new IntegerRange(pair.getFirstStart(), pair.getFirstEnd()));
+      GrowableLongArray pieces = other.splitRange(pair.getFirstStart() + delta,
+          pair.getFirstEnd() + delta);
+      for (int i = 0; i < pieces.size(); i += 3) {
+        composed.addComposedRange(pieces.get(i) - delta, pieces.get(i + 1) - delta,
+            delta + pieces.get(i + 2));
+      }
+    }
+    RangeSet coveredByThis = RangeSet.of(covered);
+    for (IntegerRangePair pair : other.getSortedPairs()) {
+      RangeSet notCovered = RangeSet.of(pair.getFirstStart(), pair.getFirstEnd())
+          .difference(coveredByThis);
+      for (int i = 0; i < notCovered.getRangeCount(); ++i) {
+        IntegerRange range = notCovered.getRange(i);
+        composed.addComposedRange(range.getStart(), range.getEnd(), pair.getDelta());
+      }
+    }
+    return composed;
+  }
+
+  private void addComposedRange(long start, long end, long delta) {
+    // Ranges mapped to themselves are left out, same as the values outside of all ranges
+    if (delta != 0) {
+      addRange(start, start + delta, end - start + 1);
+    }
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
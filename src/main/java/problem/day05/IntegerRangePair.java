@@ -24,10 +24,23 @@ public class IntegerRangePair {
     this.delta = secondStart - firstStart;
   }
 
-  private long getFirstEnd() {
+  public long getFirstStart() {
+    return firstStart;
+  }
+
+  public long getFirstEnd() {
     return firstStart + length - 1;
   }
 
+  /**
+   * Get the difference between the mapped values and the original values.
+   *
+   * @return The value to add to a seed within the first range to get its mapping
+   */
+  public long getDelta() {
+    return delta;
+  }
+
   private long getSecondEnd() {
     return secondStart + length - 1;
   }
@@ -0,0 +1,176 @@
+package problem.day05;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import tools.GrowableLongArray;
+import tools.IntegerRange;
+import tools.Logger;
+
+/**
+ * Brute-force search for the closest location of all the seeds in the seed ranges, on several
+ * threads. The seed ranges are cut into blocks of a fixed size, the blocks are distributed over
+ * a fork-join pool and each block is mapped in batches through the compiled (thread-safe) map.
+ * The minimum is reduced with an atomic accumulator. The search can be cancelled from any thread,
+ * the blocks which have not started yet are skipped then.
+ */
+public class ParallelSeedSearch {
+  /**
+   * The number of seeds in one block, the unit of work for a thread.
+   */
+  private static final int BLOCK_SIZE = 1 << 22;
+  /**
+   * The number of seeds mapped at once, the batch fits into the cache.
+   */
+  private static final int BATCH_SIZE = 1 << 12;
+  /**
+   * Tasks with at most this many blocks are not split further.
+   */
+  private static final int MIN_TASK_BLOCKS = 1;
+
+  private final CompiledRangeMap map;
+  private final int parallelism;
+  private final AtomicBoolean cancelled = new AtomicBoolean(false);
+  private final LongAccumulator minLocation = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final LongAdder processedSeeds = new LongAdder();
+
+  /**
+   * Create a search using all the available processors.
+   *
+   * @param map The compiled map chain
+   */
+  public ParallelSeedSearch(CompiledRangeMap map) {
+    this(map, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create a search.
+   *
+   * @param map         The compiled map chain
+   * @param parallelism The number of threads to use
+   */
+  public ParallelSeedSearch(CompiledRangeMap map, int parallelism) {
+    this.map = map;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Find the closest location of all the seeds in the ranges.
+   *
+   * @param seedRanges The seed ranges
+   * @return The closest location; if the search was cancelled, the closest one found so far
+   */
+  public long findClosestLocation(List<IntegerRange> seedRanges) {
+    GrowableLongArray blocks = createBlocks(seedRanges);
+    Logger.info("Searching " + blocks.size() / 2 + " blocks of seeds on " + parallelism
+        + " threads");
+    long startTime = System.nanoTime();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      pool.invoke(new BlockTask(blocks.getBackingArray(), 0, blocks.size() / 2));
+    } finally {
+      pool.shutdown();
+    }
+    double seconds = (System.nanoTime() - startTime) / 1e9;
+    long seeds = processedSeeds.sum();
+    Logger.info(String.format("Processed %d seeds in %.2f s, %.0f seeds/second%s", seeds, seconds,
+        seeds / seconds, isCancelled() ? " (cancelled)" : ""));
+    return minLocation.get();
+  }
+
+  /**
+   * Cancel the search: the blocks which have not been started are skipped, the running ones
+   * stop after the current batch.
+   */
+  public void cancel() {
+    cancelled.set(true);
+  }
+
+  public boolean isCancelled() {
+    return cancelled.get();
+  }
+
+  /**
+   * Get the number of seeds processed so far, can be called while the search is running.
+   *
+   * @return The number of processed seeds
+   */
+  public long getProcessedSeedCount() {
+    return processedSeeds.sum();
+  }
+
+  /**
+   * Cut the seed ranges into blocks.
+   *
+   * @return Pairs (start, end) for each block, both inclusive
+   */
+  private static GrowableLongArray createBlocks(List<IntegerRange> seedRanges) {
+    GrowableLongArray blocks = new GrowableLongArray();
+    for (IntegerRange range : seedRanges) {
+      for (long start = range.getStart(); start <= range.getEnd(); start += BLOCK_SIZE) {
+        blocks.add(start);
+        blocks.add(Math.min(range.getEnd(), start + BLOCK_SIZE - 1));
+      }
+    }
+    return blocks;
+  }
+
+  private void searchBlock(long start, long end, long[] batch) {
+    long min = Long.MAX_VALUE;
+    long seed = start;
+    while (seed <= end && !cancelled.get()) {
+      int batchLength = (int) Math.min(BATCH_SIZE, end - seed + 1);
+      for (int i = 0; i < batchLength; ++i) {
+        batch[i] = seed + i;
+      }
+      map.findFinalMappingsFor(batch, 0, batchLength);
+      for (int i = 0; i < batchLength; ++i) {
+        min = Math.min(min, batch[i]);
+      }
+      seed += batchLength;
+      processedSeeds.add(batchLength);
+    }
+    minLocation.accumulate(min);
+  }
+
+  /**
+   * Processes a range of blocks: either splits it in two halves, or searches the blocks directly.
+   */
+  private class BlockTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final long[] blocks;
+    private final int firstBlock;
+    private final int endBlock;
+
+    /**
+     * Create a task for a range of blocks.
+     *
+     * @param blocks     The (start, end) pairs of all the blocks
+     * @param firstBlock The index of the first block to process (inclusive)
+     * @param endBlock   The index of the last block to process (exclusive)
+     */
+    BlockTask(long[] blocks, int firstBlock, int endBlock) {
+      this.blocks = blocks;
+      this.firstBlock = firstBlock;
+      this.endBlock = endBlock;
+    }
+
+    @Override
+    protected void compute() {
+      if (endBlock - firstBlock > MIN_TASK_BLOCKS) {
+        int middle = (firstBlock + endBlock) / 2;
+        invokeAll(new BlockTask(blocks, firstBlock, middle),
+            new BlockTask(blocks, middle, endBlock));
+      } else {
+        long[] batch = new long[BATCH_SIZE];
+        for (int block = firstBlock; block < endBlock && !cancelled.get(); ++block) {
+          searchBlock(blocks[block * 2], blocks[block * 2 + 1], batch);
+        }
+      }
+    }
+  }
+}
@@ -2,43 +2,93 @@ package problem.day05;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import tools.GrowableLongArray;
 import tools.InputFile;
 import tools.IntegerRange;
 import tools.Logger;
+import tools.RangeSet;
 
 /**
  * Solution for the problem of Day 05
  * See description here: https://adventofcode.com/2023/day/5
  */
 public class Solver {
+  private static final String BRUTE_FORCE_ARGUMENT = "--brute-force";
+  private static final String PARALLEL_BRUTE_FORCE_ARGUMENT = "--parallel-brute-force";
+  private static final int MAP_COUNT = 7;
+
   private IntegerRangeMap headMap = null;
+  private final PartTwoMode mode;
+  private final long timeLimitSeconds;
 
-  private static final int MAP_COUNT = 7;
+  /**
+   * How to find the closest location for the seed ranges.
+   */
+  private enum PartTwoMode {
+    /**
+     * Map whole ranges through the composed map.
+     */
+    RANGES,
+    /**
+     * Map each seed separately, on one thread.
+     */
+    BRUTE_FORCE,
+    /**
+     * Map each seed separately, on all the processors.
+     */
+    PARALLEL_BRUTE_FORCE
+  }
+
+  private Solver(PartTwoMode mode, long timeLimitSeconds) {
+    this.mode = mode;
+    this.timeLimitSeconds = timeLimitSeconds;
+  }
 
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments. Optional: --brute-force, to map each seed of the seed
+   *             ranges separately in Part 2 (very slow, useful for checking the results), or
+   *             --parallel-brute-force [time limit in seconds], to do the same on all the
+   *             processors, cancelled after the time limit
    */
   public static void main(String[] args) {
     Logger.info("Starting...");
-    Solver solver = new Solver();
+    PartTwoMode mode = PartTwoMode.RANGES;
+    long timeLimitSeconds = 0;
+    if (args.length > 0 && args[0].equals(BRUTE_FORCE_ARGUMENT)) {
+      mode = PartTwoMode.BRUTE_FORCE;
+    } else if (args.length > 0 && args[0].equals(PARALLEL_BRUTE_FORCE_ARGUMENT)) {
+      mode = PartTwoMode.PARALLEL_BRUTE_FORCE;
+      if (args.length > 1) {
+        timeLimitSeconds = Long.parseLong(args[1]);
+      }
+    }
+    Solver solver = new Solver(mode, timeLimitSeconds);
     solver.solve();
   }
 
   private void solve() {
-    InputFile inputFile = new InputFile("problem05.input");
+    InputFile inputFile = InputFile.openMapped("problem05.input");
     if (!inputFile.exists()) {
       Logger.error("Input file not found");
       return;
     }
 
-    List<Long> seeds = processPartOne(inputFile);
-    processPartTwo(seeds);
+    GrowableLongArray seeds = processPartOne(inputFile);
+    switch (mode) {
+      case RANGES -> processPartTwo(seeds);
+      case BRUTE_FORCE -> processPartTwoBruteForce(seeds);
+      case PARALLEL_BRUTE_FORCE -> processPartTwoInParallel(seeds);
+      default -> throw new IllegalStateException("Unknown mode: " + mode);
+    }
   }
 
-  private List<Long> processPartOne(InputFile inputFile) {
-    List<Long> seeds = inputFile.readSpacedIntegerLine("seeds: ");
+  private GrowableLongArray processPartOne(InputFile inputFile) {
+    GrowableLongArray seeds = new GrowableLongArray();
+    inputFile.readSpacedIntegerLine("seeds: ", seeds);
     inputFile.skipEmptyLine();
     IntegerRangeMap map = null;
     for (int i = 0; i < MAP_COUNT; ++i) {
@@ -51,9 +101,10 @@ public class Solver {
       map = nextMap;
     }
 
+    long[] locations = seeds.toArray();
+    headMap.compile().findFinalMappingsFor(locations);
     long minLocation = Long.MAX_VALUE;
-    for (Long seed : seeds) {
-      long seedLocation = headMap.findFinalMappingFor(seed);
+    for (long seedLocation : locations) {
       if (seedLocation < minLocation) {
         minLocation = seedLocation;
       }
@@ -63,14 +114,24 @@ public class Solver {
   }
 
 
-  private void processPartTwo(List<Long> seeds) {
+  private void processPartTwo(GrowableLongArray seeds) {
+    IntegerRangeMap composedMap = headMap.createComposedMap();
+    Logger.info("Composed map has " + composedMap.getRangeCount() + " ranges");
+    RangeSet seedRanges = RangeSet.of(createSeedRanges(seeds));
+    RangeSet locations = composedMap.findFinalMappingFor(seedRanges);
+    Logger.info("Seed ranges map to " + locations.getRangeCount() + " location ranges");
+    Logger.info("Closest location for seed ranges (Part 2): " + locations.getMin());
+  }
+
+  private void processPartTwoBruteForce(GrowableLongArray seeds) {
+    CompiledRangeMap map = headMap.compile();
     long minLocationSeedRanges = Long.MAX_VALUE;
     int rangeNumber = 1;
     List<IntegerRange> seedRanges = createSeedRanges(seeds);
     for (IntegerRange range : seedRanges) {
       Logger.info("Processing range " + rangeNumber++);
       for (long seed = range.getStart(); seed <= range.getEnd(); ++seed) {
-        long seedLocation = headMap.findFinalMappingFor(seed);
+        long seedLocation = map.findFinalMappingFor(seed);
         if (seedLocation < minLocationSeedRanges) {
           minLocationSeedRanges = seedLocation;
         }
@@ -80,14 +141,34 @@ public class Solver {
     Logger.info("Closest location for seed ranges (Part 2): " + minLocationSeedRanges);
   }
 
+  private void processPartTwoInParallel(GrowableLongArray seeds) {
+    ParallelSeedSearch search = new ParallelSeedSearch(headMap.compile());
+    Timer timer = new Timer(true);
+    if (timeLimitSeconds > 0) {
+      timer.schedule(new TimerTask() {
+        @Override
+        public void run() {
+          search.cancel();
+        }
+      }, timeLimitSeconds * 1000);
+    }
+    long minLocation = search.findClosestLocation(createSeedRanges(seeds));
+    timer.cancel();
+    if (search.isCancelled()) {
+      Logger.info("Time limit reached, the closest location found so far: " + minLocation);
+    } else {
+      Logger.info("Closest location for seed ranges (Part 2): " + minLocation);
+    }
+  }
+
   private IntegerRangeMap readIntegerRangeMap(InputFile inputFile) {
     IntegerRangeMap map = new IntegerRangeMap();
 
     inputFile.readLine(); // Skip title line
 
-    List<Long> numbers;
+    GrowableLongArray numbers = new GrowableLongArray();
     do {
-      numbers = inputFile.readSpacedIntegerLine("");
+      inputFile.readSpacedIntegerLine("", numbers);
       if (numbers.size() == 3) {
         map.addRange(numbers.get(1), numbers.get(0), numbers.get(2));
       } else if (!numbers.isEmpty()) {
@@ -98,7 +179,7 @@ public class Solver {
     return map;
   }
 
-  private List<IntegerRange> createSeedRanges(List<Long> seeds) {
+  private List<IntegerRange> createSeedRanges(GrowableLongArray seeds) {
     List<IntegerRange> ranges = new LinkedList<>();
     for (int i = 0; i < seeds.size(); i += 2) {
       long start = seeds.get(i);
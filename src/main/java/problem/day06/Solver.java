@@ -1,6 +1,6 @@
 package problem.day06;
 
-import java.util.List;
+import tools.GrowableLongArray;
 import tools.InputFile;
 import tools.Logger;
 
@@ -22,7 +22,7 @@ public class Solver {
   }
 
   private void solve() {
-    InputFile inputFile = new InputFile("problem06.input");
+    InputFile inputFile = InputFile.openMapped("problem06.input");
     if (!inputFile.exists()) {
       Logger.error("Input file not found");
       return;
@@ -38,8 +38,10 @@ public class Solver {
   }
 
   private void calculatePartOneWins(InputFile inputFile) {
-    List<Long> times = inputFile.readSpacedIntegerLine("Time:");
-    List<Long> distances = inputFile.readSpacedIntegerLine("Distance:");
+    GrowableLongArray times = new GrowableLongArray();
+    GrowableLongArray distances = new GrowableLongArray();
+    inputFile.readSpacedIntegerLine("Time:", times);
+    inputFile.readSpacedIntegerLine("Distance:", distances);
     if (times.size() != distances.size()) {
       throw new IllegalStateException("Time and distance arrays have different sizes");
     }
@@ -1,7 +1,6 @@
 package problem.day07;
 
 import java.util.Arrays;
-import java.util.List;
 import tools.InputFile;
 import tools.Logger;
 
@@ -30,12 +29,10 @@ public class Solver {
       return;
     }
 
-    List<String> lines = inputFile.readLinesUntilEmptyLine();
-    int handCount = lines.size();
-    Game[] games = new Game[handCount];
-    for (int i = 0; i < handCount; ++i) {
-      games[i] = parseGame(lines.get(i));
-    }
+    Game[] games = inputFile.streamLinesUntilEmptyLine()
+        .map(this::parseGame)
+        .toArray(Game[]::new);
+    int handCount = games.length;
 
     Arrays.sort(games);
 
@@ -1,11 +1,12 @@
 package problem.day09;
 
-import static tools.Algos.listToArray;
-
-import java.util.List;
 import java.util.Stack;
+import tools.GrowableLongArray;
 import tools.InputFile;
+import tools.LineIterator;
+import tools.LineSlice;
 import tools.Logger;
+import tools.ReadAheadPipeline;
 
 /**
  * Solution for the problem of Day 09
@@ -14,6 +15,7 @@ import tools.Logger;
  * elements of all the prediction rows.
  */
 public class Solver {
+  private static final int READ_AHEAD_CAPACITY = 1024;
   Stack<Long> firstNumbers = new Stack<>(); // History of first numbers
   long firstNumberSum = 0;
 
@@ -29,26 +31,35 @@ public class Solver {
   }
 
   private void solve() {
-    InputFile inputFile = new InputFile("problem09.input");
+    InputFile inputFile = InputFile.openMapped("problem09.input");
     if (!inputFile.exists()) {
       Logger.error("Input file not found");
       return;
     }
 
     long sum = 0;
-    List<Long> values = inputFile.readSpacedIntegerLine("");
-    while (!values.isEmpty()) {
-      sum += predictNextValue(values);
-      values = inputFile.readSpacedIntegerLine("");
+    // The lines are read and parsed into value arrays in a separate thread
+    try (ReadAheadPipeline<long[]> histories = new ReadAheadPipeline<>(
+        new LineIterator(inputFile), Solver::parseValues, READ_AHEAD_CAPACITY)) {
+      while (histories.hasNext()) {
+        long[] values = histories.next();
+        sum += predictNextValue(values, values.length);
+      }
+      Logger.info("Throughput: " + Math.round(histories.getRecordsPerSecond())
+          + " rows per second");
     }
 
     Logger.info("Sum of predictions: " + sum);
     Logger.info("Sum of first number predictions: " + firstNumberSum);
   }
 
-  private long predictNextValue(List<Long> valueList) {
-    long[] values = listToArray(valueList);
-    int valueCount = values.length;
+  private static long[] parseValues(String line) {
+    GrowableLongArray values = new GrowableLongArray();
+    LineSlice.fromString(line).parseSpacedIntegers(values);
+    return values.toArray();
+  }
+
+  private long predictNextValue(long[] values, int valueCount) {
     long sumOfLastValues = values[valueCount - 1];
     firstNumbers.clear();
 
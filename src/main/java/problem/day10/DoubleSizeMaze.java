@@ -1,9 +1,8 @@
 package problem.day10;
 
 import java.util.ArrayDeque;
-import java.util.HashSet;
 import java.util.Queue;
-import java.util.Set;
+import tools.BitGrid;
 import tools.StringGrid;
 import tools.Vector;
 
@@ -26,7 +25,7 @@ public class DoubleSizeMaze {
   private Queue<Vector> waterCellQueue = new ArrayDeque<>();
 
   private final char[][] grid;
-  private final Set<Vector> loopCells = new HashSet<>();
+  private final BitGrid loopCells;
 
   /**
    * Create a double sized maze.
@@ -37,6 +36,7 @@ public class DoubleSizeMaze {
     int rows = originalGrid.getRowCount();
     int columns = originalGrid.getColumnCount();
     grid = new char[rows * 2][columns * 2];
+    loopCells = new BitGrid(rows, columns);
     for (int row = 0; row < rows; ++row) {
       for (int column = 0; column < columns; ++column) {
         grid[row * 2][column * 2] = originalGrid.getCharacter(row, column);
@@ -110,7 +110,7 @@ public class DoubleSizeMaze {
     Vector position = start;
     Vector lastNonNull = start;
     do {
-      loopCells.add(position);
+      loopCells.set(position);
       Vector next = moveToAdjacent(position);
       setCharacter(position, VISITED);
       position = next;
@@ -193,7 +193,7 @@ public class DoubleSizeMaze {
   }
 
   public long getLoopLength() {
-    return loopCells.size();
+    return loopCells.popCount();
   }
 
   private boolean canGoDownFrom(Vector position) {
@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import tools.StringGrid;
+import tools.FlatCharGrid;
 import tools.Vector;
 
 /**
@@ -15,7 +15,7 @@ public class GalaxyMap {
   private static final char GALAXY = '#';
   private static final long SHORT_DISTANCE = 1;
   private static final long LONG_DISTANCE = 1000000;
-  private StringGrid grid;
+  private FlatCharGrid grid;
   private List<Vector> galaxies = new ArrayList<>();
   private long[] rowDistances;
   private long[] columnDistances;
@@ -25,7 +25,7 @@ public class GalaxyMap {
    *
    * @param grid The grid representing the map
    */
-  public GalaxyMap(StringGrid grid) {
+  public GalaxyMap(FlatCharGrid grid) {
     this.grid = grid;
   }
 
@@ -72,35 +72,20 @@ public class GalaxyMap {
   }
 
   private boolean isRowEmpty(int row) {
-    boolean empty = true;
-    int column = 0;
-    while (empty && column < grid.getColumnCount()) {
-      empty = grid.getCharacter(row, column) == EMPTY;
-      column++;
-    }
-    return empty;
+    return grid.isRowFilledWith(row, EMPTY);
   }
 
   private Set<Integer> findEmptyColumns() {
     Set<Integer> emptyColumns = new HashSet<>();
+    boolean[] columnEmpty = grid.findColumnsFilledWith(EMPTY);
     for (int column = 0; column < grid.getColumnCount(); ++column) {
-      if (isColumnEmpty(column)) {
+      if (columnEmpty[column]) {
         emptyColumns.add(column);
       }
     }
     return emptyColumns;
   }
 
-  private boolean isColumnEmpty(int column) {
-    boolean empty = true;
-    int row = 0;
-    while (empty && row < grid.getRowCount()) {
-      empty = grid.getCharacter(row, column) == EMPTY;
-      ++row;
-    }
-    return empty;
-  }
-
   /**
    * Find the locations of galaxies.
    */
@@ -32,7 +32,7 @@ public class Solver {
       return;
     }
 
-    GalaxyMap map = new GalaxyMap(inputFile.readAllIntoStringGrid());
+    GalaxyMap map = new GalaxyMap(inputFile.readAllIntoFlatGrid());
     map.findExpandedDistances();
     map.findGalaxies();
     Logger.info("Sum of distances: " + map.calculateDistances());
@@ -1,15 +1,17 @@
 package problem.day12;
 
 
-import java.util.List;
 import tools.InputFile;
+import tools.LineIterator;
 import tools.Logger;
+import tools.ReadAheadPipeline;
 
 /**
  * Solution for the problem of Day 12
  * See description here: https://adventofcode.com/2023/day/12
  */
 public class Solver {
+  private static final int READ_AHEAD_CAPACITY = 1024;
 
   /**
    * Run the solver - solve the puzzle.
@@ -30,12 +32,16 @@ public class Solver {
     }
 
     long arrangementCountSum = 0;
-    List<String> lines = inputFile.readLinesUntilEmptyLine();
-    int rowsProcessed = 0;
-    for (String line : lines) {
-      Arrangements arrangements = new Arrangements(line);
-      arrangementCountSum += arrangements.findCount();
-      Logger.info("Processed " + (++rowsProcessed) + " rows");
+    // The lines are read and parsed into arrangements in a separate thread
+    try (ReadAheadPipeline<Arrangements> arrangements = new ReadAheadPipeline<>(
+        new LineIterator(inputFile), Arrangements::new, READ_AHEAD_CAPACITY)) {
+      int rowsProcessed = 0;
+      while (arrangements.hasNext()) {
+        arrangementCountSum += arrangements.next().findCount();
+        Logger.info("Processed " + (++rowsProcessed) + " rows");
+      }
+      Logger.info("Throughput: " + Math.round(arrangements.getRecordsPerSecond())
+          + " rows per second");
     }
 
     Logger.info("Sum of arrangement counts: " + arrangementCountSum);
@@ -1,51 +1,38 @@
 package problem.day13;
 
-import tools.CharacterGrid;
+import tools.FlatCharGrid;
 import tools.Logger;
 
 /**
  * A mirror map containing some rocks on it.
  */
 public class MirrorMap {
-  private String[] rows;
-  private String[] columns;
+  private final FlatCharGrid rows;
+  private final FlatCharGrid columns;
 
   /**
    * Create a mirror map.
    *
    * @param grid The grid representing the map
    */
-  public MirrorMap(CharacterGrid grid) {
-    initializeRows(grid);
-    initializeColumns(grid);
-  }
-
-  private void initializeColumns(CharacterGrid grid) {
-    columns = new String[grid.getColumnCount()];
-    for (int j = 0; j < grid.getColumnCount(); ++j) {
-      columns[j] = grid.getColumnAsString(j);
-    }
-  }
-
-  private void initializeRows(CharacterGrid grid) {
-    rows = new String[grid.getRowCount()];
-    for (int i = 0; i < grid.getRowCount(); ++i) {
-      rows[i] = grid.getRow(i);
-    }
+  public MirrorMap(FlatCharGrid grid) {
+    rows = grid;
+    // Transposed, so that the columns are compared as rows, with adjacent characters
+    columns = grid.transpose();
   }
 
   /**
-   * Find the symmetry center of a given string array.
+   * Find the symmetry center of the rows in a given grid.
    *
-   * @param strings      The strings to check
+   * @param grid         The grid to check
    * @param expectSmudge Whether to expect exactly one smudged bit in the numbers
    * @return The symmetry center i, meaning that numbers i-1 and i are the same, i-2 and i+1, etc
    */
-  public int findSymmetryCenter(String[] strings, boolean expectSmudge) {
+  public int findSymmetryCenter(FlatCharGrid grid, boolean expectSmudge) {
     int symmetryCenter = 0;
     int i = 1;
-    while (symmetryCenter == 0 && i < strings.length) {
-      if (isSymmetry(strings, i, expectSmudge)) {
+    while (symmetryCenter == 0 && i < grid.getRowCount()) {
+      if (isSymmetry(grid, i, expectSmudge)) {
         symmetryCenter = i;
       }
       i++;
@@ -53,15 +40,13 @@ public class MirrorMap {
     return symmetryCenter;
   }
 
-  private boolean isSymmetry(String[] strings, int split, boolean smudgeExpected) {
-    int numbersToTheRight = strings.length - split;
+  private boolean isSymmetry(FlatCharGrid grid, int split, boolean smudgeExpected) {
+    int numbersToTheRight = grid.getRowCount() - split;
     int length = Math.min(split, numbersToTheRight);
     boolean symmetrical = true;
     int i = 1;
     while (symmetrical && i <= length) {
-      String left = strings[split - i];
-      String right = strings[split + i - 1];
-      int bitDifferences = findDifference(left, right);
+      int bitDifferences = grid.countRowDifferences(split - i, split + i - 1);
       symmetrical = bitDifferences == 0;
       if (!symmetrical && smudgeExpected && bitDifferences == 1) {
         // Smudge found, ignore it once, remember that this bit was smudged
@@ -73,16 +58,6 @@ public class MirrorMap {
     return symmetrical && !smudgeExpected;
   }
 
-  private int findDifference(String left, String right) {
-    int difference = 0;
-    for (int i = 0; i < left.length(); ++i) {
-      if (left.charAt(i) != right.charAt(i)) {
-        difference++;
-      }
-    }
-    return difference;
-  }
-
   /**
    * Find the symmetry score of this mirror map.
    *
@@ -1,9 +1,9 @@
 package problem.day13;
 
 
+import tools.FlatCharGrid;
 import tools.InputFile;
 import tools.Logger;
-import tools.StringGrid;
 
 /**
  * Solution for the problem of Day 13
@@ -34,7 +34,7 @@ public class Solver {
     int i = 1;
     while (!inputFile.isEndOfFile()) {
       Logger.info("Grid " + i);
-      StringGrid grid = inputFile.readAllIntoStringGrid();
+      FlatCharGrid grid = inputFile.readAllIntoFlatGrid();
       MirrorMap map = new MirrorMap(grid);
       sum += map.findSymmetryScore(false);
       fixedSum += map.findSymmetryScore(true);
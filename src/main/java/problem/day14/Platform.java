@@ -2,9 +2,9 @@ package problem.day14;
 
 import java.util.LinkedList;
 import java.util.List;
-import tools.CharArrayGrid;
 import tools.CharacterGrid;
 import tools.Direction;
+import tools.FlatCharGrid;
 import tools.Vector;
 
 /**
@@ -13,9 +13,9 @@ import tools.Vector;
 public class Platform {
   private static final char ROUNDED_ROCK = 'O';
   private static final char EMPTY = '.';
-  private final CharArrayGrid grid;
+  private final FlatCharGrid grid;
 
-  public Platform(CharArrayGrid grid) {
+  public Platform(FlatCharGrid grid) {
     this.grid = grid;
   }
 
@@ -78,7 +78,7 @@ public class Platform {
 
     for (int row = startRow; row != endRow; row += rowStep) {
       for (int column = startColumn; column != endColumn; column += columnStep) {
-        if (grid.getCharacter(row, column) == ROUNDED_ROCK) {
+        if (grid.getCharacterUnchecked(row, column) == ROUNDED_ROCK) {
           rockPositions.add(new Vector(column, row));
         }
       }
@@ -88,7 +88,7 @@ public class Platform {
 
   private boolean isEmpty(int row, int column) {
     return row >= 0 && row < grid.getRowCount() && column >= 0 && column < grid.getColumnCount()
-        && grid.getCharacter(row, column) == EMPTY;
+        && grid.getCharacterUnchecked(row, column) == EMPTY;
   }
 
   private void rollRock(Vector rockPosition, int verticalGradient, int horizontalGradient) {
@@ -113,9 +113,9 @@ public class Platform {
   }
 
   private void move(Vector position, Vector newPosition) {
-    char c = grid.getCharacter(position);
-    grid.setCharacter(newPosition.y(), newPosition.x(), c);
-    grid.setCharacter(position.y(), position.x(), EMPTY);
+    char c = grid.getCharacterUnchecked(position.y(), position.x());
+    grid.setCharacterUnchecked(newPosition.y(), newPosition.x(), c);
+    grid.setCharacterUnchecked(position.y(), position.x(), EMPTY);
   }
 
   public CharacterGrid getGrid() {
@@ -1,7 +1,7 @@
 package problem.day14;
 
 
-import tools.CharArrayGrid;
+import tools.FlatCharGrid;
 import tools.InputFile;
 import tools.Logger;
 
@@ -29,7 +29,7 @@ public class Solver {
       return;
     }
 
-    CharArrayGrid grid = inputFile.readAllIntoCharGrid();
+    FlatCharGrid grid = inputFile.readAllIntoFlatGrid();
     Platform platform = new Platform(grid);
     for (int i = 0; i < 1000; ++i) {
       platform.spinOneCycle();
@@ -0,0 +1,385 @@
+package problem.day16;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import tools.BitGrid;
+import tools.Direction;
+import tools.FlatCharGrid;
+
+/**
+ * The light paths of a cave, compiled into a graph, to answer many entering beams cheaply.
+ * A node is an element (mirror or splitter) with the direction of the beam leaving it; the node
+ * covers the straight segment of cells the beam crosses until the next element (inclusive) or
+ * the edge of the cave. The edges lead to the beams leaving that next element. Light can run in
+ * loops, so the strongly connected components of the graph are collapsed (Tarjan's algorithm);
+ * the components form an acyclic graph, and the cells energized from each component are
+ * computed once, as the union of its own segments and of the cells of the components it leads
+ * to. An entering beam then costs one segment plus the union of at most two components.
+ * Most components are a single beam with a single way to continue (a mirror, or a splitter hit
+ * end-on); such a component does not store its cells, it only links to the component where the
+ * beam continues, and its cells are collected by following the links. A component stores its
+ * cells when the links to follow would cross more cells than the grid has words, so collecting
+ * the cells never costs more than a union. The components where the beam splits in two, and the
+ * loops, store their cells; the memory is the number of those times the size of the grid
+ * (cells / 64 words), fine for caves with up to a few thousand splitters, but quadratic in the
+ * size of the grid for large caves full of splitters.
+ */
+public class BeamGraph {
+  private static final char EMPTY = '.';
+  private static final char VERTICAL_SPLITTER = '|';
+  private static final char HORIZONTAL_SPLITTER = '-';
+  private static final char NORTH_EAST_MIRROR = '/';
+  private static final char NORTH_WEST_MIRROR = '\\';
+  private static final Direction[] DIRECTIONS = Direction.values();
+  private static final int DIRECTION_COUNT = DIRECTIONS.length;
+  private static final int NO_NODE = -1;
+  private static final int NO_COMPONENT = -1;
+
+  private final FlatCharGrid grid;
+  private final int rowCount;
+  private final int columnCount;
+  /**
+   * For each cell (row * columnCount + column): the index of the element in it, -1 if empty.
+   */
+  private final int[] elementIndices;
+  private final int[] elementCells;
+  private final int nodeCount;
+  /**
+   * The first and the last cell of the segment of each node, -1 when the beam leaves the cave
+   * right away.
+   */
+  private final int[] segmentStarts;
+  private final int[] segmentEnds;
+  /**
+   * Two slots for each node: the nodes where the beam continues after its segment, NO_NODE for
+   * an empty slot.
+   */
+  private final int[] successors;
+  private final int[] componentOf;
+  /**
+   * The cells energized by the beams of each component and everything reachable from it; null
+   * for a component which links to the next one instead.
+   */
+  private final List<BitGrid> componentCells = new ArrayList<>();
+  /**
+   * For the components without their own cells: the single node of the component, the
+   * component where the beam continues (NO_COMPONENT if it leaves the cave), and the number of
+   * cells to set while following the links up to a component with its own cells.
+   */
+  private final int[] linkedNodes;
+  private final int[] nextComponents;
+  private final int[] linkedCellCounts;
+  /**
+   * The number of cells above which the linked cells are stored in a bit grid.
+   */
+  private final int maxLinkedCellCount;
+
+  /**
+   * Compile the light paths of a cave.
+   *
+   * @param grid The grid with the mirror map, it is not modified
+   * @throws UnsupportedOperationException When the grid contains an unknown character
+   */
+  public BeamGraph(FlatCharGrid grid) throws UnsupportedOperationException {
+    this.grid = grid;
+    this.rowCount = grid.getRowCount();
+    this.columnCount = grid.getColumnCount();
+    elementIndices = new int[rowCount * columnCount];
+    Arrays.fill(elementIndices, -1);
+    int elementCount = 0;
+    for (int row = 0; row < rowCount; ++row) {
+      for (int column = 0; column < columnCount; ++column) {
+        if (grid.getCharacterUnchecked(row, column) != EMPTY) {
+          elementIndices[row * columnCount + column] = elementCount++;
+        }
+      }
+    }
+    elementCells = new int[elementCount];
+    for (int cell = 0; cell < elementIndices.length; ++cell) {
+      if (elementIndices[cell] >= 0) {
+        elementCells[elementIndices[cell]] = cell;
+      }
+    }
+
+    nodeCount = elementCount * DIRECTION_COUNT;
+    segmentStarts = new int[nodeCount];
+    segmentEnds = new int[nodeCount];
+    successors = new int[nodeCount * 2];
+    for (int node = 0; node < nodeCount; ++node) {
+      Direction direction = DIRECTIONS[node % DIRECTION_COUNT];
+      int cell = elementCells[node / DIRECTION_COUNT];
+      int start = getNeighbor(cell, direction);
+      segmentStarts[node] = start;
+      segmentEnds[node] = start >= 0 ? traceSegment(start, direction) : -1;
+      findSuccessors(segmentEnds[node], direction, successors, node * 2);
+    }
+    componentOf = new int[nodeCount];
+    linkedNodes = new int[nodeCount];
+    nextComponents = new int[nodeCount];
+    linkedCellCounts = new int[nodeCount];
+    maxLinkedCellCount = rowCount * ((columnCount + Long.SIZE - 1) / Long.SIZE);
+    findComponents();
+  }
+
+  /**
+   * Calculate the number of tiles energized by a light beam entering the cave.
+   *
+   * @param enteringLight The light beam that enters the cave, its position must be in the cave
+   * @return The number of energized tiles
+   * @throws IllegalArgumentException When the position of the beam is outside the cave
+   */
+  public long getEnergizedTileCount(LightBeam enteringLight) throws IllegalArgumentException {
+    if (!grid.isWithin(enteringLight.position())) {
+      throw new IllegalArgumentException("The light must enter within the cave: "
+          + enteringLight);
+    }
+    int start = enteringLight.position().y() * columnCount + enteringLight.position().x();
+    Direction direction = enteringLight.direction();
+    int end = traceSegment(start, direction);
+    BitGrid energized = BitGrid.alignedWith(grid);
+    setSegment(energized, start, end, direction);
+    int[] next = new int[2];
+    findSuccessors(end, direction, next, 0);
+    for (int node : next) {
+      if (node != NO_NODE) {
+        addComponentCells(energized, componentOf[node]);
+      }
+    }
+    return energized.popCount();
+  }
+
+  /**
+   * Get the cell next to the given one, in the direction.
+   *
+   * @return The index of the neighbor cell, -1 if it is outside the cave
+   */
+  private int getNeighbor(int cell, Direction direction) {
+    int row = cell / columnCount + direction.getVerticalGradient();
+    int column = cell % columnCount + direction.getHorizontalGradient();
+    if (row < 0 || row >= rowCount || column < 0 || column >= columnCount) {
+      return -1;
+    }
+    return row * columnCount + column;
+  }
+
+  /**
+   * Follow a beam from a cell (inclusive) in a straight line until an element or the edge.
+   *
+   * @return The last cell of the segment: an element, or a cell at the edge of the cave
+   */
+  private int traceSegment(int start, Direction direction) {
+    int cell = start;
+    while (elementIndices[cell] < 0) {
+      int next = getNeighbor(cell, direction);
+      if (next < 0) {
+        break;
+      }
+      cell = next;
+    }
+    return cell;
+  }
+
+  /**
+   * Find the nodes of the beams leaving the end of a segment, store them into two slots.
+   */
+  private void findSuccessors(int end, Direction direction, int[] target, int offset) {
+    target[offset] = NO_NODE;
+    target[offset + 1] = NO_NODE;
+    if (end < 0 || elementIndices[end] < 0) {
+      return;
+    }
+    int firstNode = elementIndices[end] * DIRECTION_COUNT;
+    char c = grid.getCharacterUnchecked(end / columnCount, end % columnCount);
+    switch (c) {
+      case VERTICAL_SPLITTER -> {
+        if (direction.isHorizontal()) {
+          target[offset] = firstNode + Direction.NORTH.ordinal();
+          target[offset + 1] = firstNode + Direction.SOUTH.ordinal();
+        } else {
+          target[offset] = firstNode + direction.ordinal();
+        }
+      }
+      case HORIZONTAL_SPLITTER -> {
+        if (direction.isHorizontal()) {
+          target[offset] = firstNode + direction.ordinal();
+        } else {
+          target[offset] = firstNode + Direction.WEST.ordinal();
+          target[offset + 1] = firstNode + Direction.EAST.ordinal();
+        }
+      }
+      case NORTH_EAST_MIRROR -> target[offset] = firstNode + switch (direction) {
+        case NORTH -> Direction.EAST.ordinal();
+        case SOUTH -> Direction.WEST.ordinal();
+        case EAST -> Direction.NORTH.ordinal();
+        case WEST -> Direction.SOUTH.ordinal();
+      };
+      case NORTH_WEST_MIRROR -> target[offset] = firstNode + switch (direction) {
+        case NORTH -> Direction.WEST.ordinal();
+        case SOUTH -> Direction.EAST.ordinal();
+        case EAST -> Direction.SOUTH.ordinal();
+        case WEST -> Direction.NORTH.ordinal();
+      };
+      default -> throw new UnsupportedOperationException("Not implemented: " + c);
+    }
+  }
+
+  private int getSegmentLength(int node) {
+    int start = segmentStarts[node];
+    if (start < 0) {
+      return 0;
+    }
+    int end = segmentEnds[node];
+    return Math.abs(end / columnCount - start / columnCount)
+        + Math.abs(end % columnCount - start % columnCount) + 1;
+  }
+
+  private void setSegment(BitGrid cells, int node) {
+    setSegment(cells, segmentStarts[node], segmentEnds[node], DIRECTIONS[node % DIRECTION_COUNT]);
+  }
+
+  private void setSegment(BitGrid cells, int start, int end, Direction direction) {
+    if (start < 0) {
+      return;
+    }
+    for (int cell = start; ; cell = getNeighbor(cell, direction)) {
+      cells.set(cell / columnCount, cell % columnCount);
+      if (cell == end) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Find the strongly connected components with an iterative version of Tarjan's algorithm
+   * (the beams can be long chains, too deep for recursion). A component is completed only after
+   * all the components it leads to, so its cells can be computed right away.
+   */
+  private void findComponents() {
+    int[] order = new int[nodeCount];
+    Arrays.fill(order, -1);
+    int[] lowLinks = new int[nodeCount];
+    int[] nextSlots = new int[nodeCount];
+    int[] callStack = new int[nodeCount];
+    int[] nodeStack = new int[nodeCount];
+    boolean[] onStack = new boolean[nodeCount];
+    int nodeStackSize = 0;
+    int visitedCount = 0;
+    for (int root = 0; root < nodeCount; ++root) {
+      if (order[root] >= 0) {
+        continue;
+      }
+      int depth = 0;
+      callStack[depth++] = root;
+      order[root] = lowLinks[root] = visitedCount++;
+      nodeStack[nodeStackSize++] = root;
+      onStack[root] = true;
+      while (depth > 0) {
+        int node = callStack[depth - 1];
+        if (nextSlots[node] < 2) {
+          int next = successors[node * 2 + nextSlots[node]++];
+          if (next == NO_NODE) {
+            continue;
+          }
+          if (order[next] < 0) {
+            order[next] = lowLinks[next] = visitedCount++;
+            nodeStack[nodeStackSize++] = next;
+            onStack[next] = true;
+            callStack[depth++] = next;
+          } else if (onStack[next]) {
+            lowLinks[node] = Math.min(lowLinks[node], order[next]);
+          }
+          continue;
+        }
+        depth--;
+        if (depth > 0) {
+          int parent = callStack[depth - 1];
+          lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[node]);
+        }
+        if (lowLinks[node] == order[node]) {
+          int first = nodeStackSize;
+          do {
+            first--;
+            onStack[nodeStack[first]] = false;
+          } while (nodeStack[first] != node);
+          completeComponent(nodeStack, first, nodeStackSize);
+          nodeStackSize = first;
+        }
+      }
+    }
+  }
+
+  /**
+   * Register a component and compute its energized cells, or link it to the next component.
+   *
+   * @param nodes An array holding the nodes of the component
+   * @param start The index of the first node of the component (inclusive)
+   * @param end   The index of the last node of the component (exclusive)
+   */
+  private void completeComponent(int[] nodes, int start, int end) {
+    int component = componentCells.size();
+    for (int i = start; i < end; ++i) {
+      componentOf[nodes[i]] = component;
+    }
+    // The other components reached from here are all completed already
+    int firstNext = NO_COMPONENT;
+    int secondNext = NO_COMPONENT;
+    for (int i = start; i < end; ++i) {
+      for (int slot = nodes[i] * 2; slot < nodes[i] * 2 + 2; ++slot) {
+        int next = successors[slot] != NO_NODE ? componentOf[successors[slot]] : NO_COMPONENT;
+        if (next == NO_COMPONENT || next == component || next == firstNext) {
+          continue;
+        }
+        if (firstNext == NO_COMPONENT) {
+          firstNext = next;
+        } else {
+          secondNext = next;
+        }
+      }
+    }
+
+    if (end - start == 1 && secondNext == NO_COMPONENT) {
+      int node = nodes[start];
+      int linkedCellCount = getSegmentLength(node);
+      if (firstNext != NO_COMPONENT && componentCells.get(firstNext) == null) {
+        linkedCellCount += linkedCellCounts[firstNext];
+      }
+      if (linkedCellCount <= maxLinkedCellCount) {
+        linkedNodes[component] = node;
+        nextComponents[component] = firstNext;
+        linkedCellCounts[component] = linkedCellCount;
+        componentCells.add(null);
+        return;
+      }
+    }
+
+    BitGrid cells = BitGrid.alignedWith(grid);
+    for (int i = start; i < end; ++i) {
+      int node = nodes[i];
+      setSegment(cells, node);
+      for (int slot = node * 2; slot < node * 2 + 2; ++slot) {
+        int next = successors[slot];
+        if (next != NO_NODE && componentOf[next] != component) {
+          addComponentCells(cells, componentOf[next]);
+        }
+      }
+    }
+    componentCells.add(cells);
+  }
+
+  /**
+   * Set the cells energized from a component: follow the links, and add the stored cells of the
+   * first component which has them.
+   */
+  private void addComponentCells(BitGrid cells, int component) {
+    while (component != NO_COMPONENT) {
+      BitGrid stored = componentCells.get(component);
+      if (stored != null) {
+        cells.or(stored);
+        return;
+      }
+      setSegment(cells, linkedNodes[component]);
+      component = nextComponents[component];
+    }
+  }
+}
@@ -6,11 +6,10 @@ import static tools.Direction.SOUTH;
 import static tools.Direction.WEST;
 
 import java.util.ArrayDeque;
-import java.util.HashSet;
 import java.util.Queue;
-import java.util.Set;
-import tools.CharArrayGrid;
+import tools.BitGrid;
 import tools.Direction;
+import tools.FlatCharGrid;
 import tools.Vector;
 
 /**
@@ -24,18 +23,23 @@ public class Cave {
   private static final char NORTH_WEST_MIRROR = '\\';
   private static final Vector VERTICAL = new Vector(0, 1);
   private static final Vector HORIZONTAL = new Vector(1, 0);
-  private final CharArrayGrid grid;
-  private final Set<Vector> energized = new HashSet<>();
+  private final FlatCharGrid grid;
+  private final BitGrid energized;
   private Queue<LightBeam> toVisit = new ArrayDeque<>();
-  private Set<LightBeam> visited = new HashSet<>();
+  private final BitGrid[] visited; // One layer for each direction of the light beam
 
   /**
    * Create a cave.
    *
    * @param grid The grid with the mirror map.
    */
-  public Cave(CharArrayGrid grid) {
+  public Cave(FlatCharGrid grid) {
     this.grid = grid;
+    this.energized = BitGrid.alignedWith(grid);
+    this.visited = new BitGrid[Direction.values().length];
+    for (int i = 0; i < visited.length; ++i) {
+      visited[i] = BitGrid.alignedWith(grid);
+    }
   }
 
   /**
@@ -47,16 +51,17 @@ public class Cave {
     toVisit.add(enteringLight);
     while (!toVisit.isEmpty()) {
       LightBeam light = toVisit.poll();
-      if (!visited.contains(light)) {
+      if (!visited[light.direction().ordinal()].test(light.position())) {
         visit(light);
       }
     }
   }
 
   private void visit(LightBeam light) {
-    energized.add(light.position());
-    visited.add(light);
-    char c = grid.getCharacter(light.position());
+    energized.set(light.position());
+    visited[light.direction().ordinal()].set(light.position());
+    // Only positions within the grid are ever added to the queue
+    char c = grid.getCharacterUnchecked(light.position().y(), light.position().x());
     switch (c) {
       case EMPTY:
         continueBeam(light);
@@ -157,6 +162,6 @@ public class Cave {
    * @return The number of energized tiles
    */
   public long getEnergizedTileCount() {
-    return energized.size();
+    return energized.popCount();
   }
 }
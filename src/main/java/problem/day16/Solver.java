@@ -1,8 +1,8 @@
 package problem.day16;
 
 
-import tools.CharArrayGrid;
 import tools.Direction;
+import tools.FlatCharGrid;
 import tools.InputFile;
 import tools.Logger;
 import tools.Vector;
@@ -12,17 +12,28 @@ import tools.Vector;
  * See description here: https://adventofcode.com/2023/day/16
  */
 public class Solver {
+  private static final String SIMULATE_ARGUMENT = "--simulate";
+
+  private final boolean simulate;
   private long maxEnergy;
-  private CharArrayGrid grid;
+  private FlatCharGrid grid;
+  private BeamGraph beamGraph;
+
+  private Solver(boolean simulate) {
+    this.simulate = simulate;
+  }
 
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments, optional: --simulate, to bounce the light across the
+   *             cave separately for each entering beam, instead of using the compiled beam graph
+   *             (slower, for comparison)
    */
   public static void main(String[] args) {
     Logger.info("Starting...");
-    Solver solver = new Solver();
+    boolean simulate = args.length > 0 && args[0].equals(SIMULATE_ARGUMENT);
+    Solver solver = new Solver(simulate);
     solver.solve();
   }
 
@@ -33,7 +44,11 @@ public class Solver {
       return;
     }
 
-    grid = inputFile.readAllIntoCharGrid();
+    grid = inputFile.readAllIntoFlatGrid();
+    long startTime = System.nanoTime();
+    if (!simulate) {
+      beamGraph = new BeamGraph(grid);
+    }
     maxEnergy = 0;
     for (int row = 0; row < grid.getRowCount(); ++row) {
       updateMaxEnergy(row, 0, Direction.EAST);
@@ -44,17 +59,22 @@ public class Solver {
       updateMaxEnergy(grid.getRowCount() - 1, column, Direction.NORTH);
     }
     Logger.info("Max energized tile count: " + maxEnergy);
+    Logger.info(String.format("All the entering beams took %.1f ms",
+        (System.nanoTime() - startTime) / 1e6));
   }
 
   private void updateMaxEnergy(int row, int column, Direction direction) {
-    Cave maze = new Cave(grid);
     LightBeam enteringLight = new LightBeam(new Vector(column, row), direction);
-    maze.bounceLight(enteringLight);
-    long energy = maze.getEnergizedTileCount();
+    long energy;
+    if (simulate) {
+      Cave maze = new Cave(grid);
+      maze.bounceLight(enteringLight);
+      energy = maze.getEnergizedTileCount();
+    } else {
+      energy = beamGraph.getEnergizedTileCount(enteringLight);
+    }
     if (energy > maxEnergy) {
       maxEnergy = energy;
     }
   }
 }
-
-
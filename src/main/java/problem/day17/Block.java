@@ -42,13 +42,14 @@ public final class Block {
   /**
    * Get the minimum heat loss achievable, considering all the valid paths leading to this block.
    *
+   * @param rules The movement rules of the crucible
    * @return The minimum heat loss, Long.MAX_VALUE if this block is not reachable
    */
-  public long getMinimumHeatLoss() {
+  public long getMinimumHeatLoss(CrucibleRules rules) {
     long minimumHeatLoss = Long.MAX_VALUE;
     for (Map.Entry<DirectionalMove, Long> entry : entries.entrySet()) {
       DirectionalMove move = entry.getKey();
-      if (move.isValid()) {
+      if (move.isValid(rules)) {
         Long loss = entry.getValue();
         minimumHeatLoss = Math.min(loss, minimumHeatLoss);
       }
@@ -61,13 +62,14 @@ public final class Block {
    *
    * @param nextBlock The next block to reach
    * @param direction The direction of move
+   * @param rules     The movement rules of the crucible
    * @return True if the next block was reached in at least one way
    */
-  public boolean moveTo(Block nextBlock, Direction direction) {
+  public boolean moveTo(Block nextBlock, Direction direction, CrucibleRules rules) {
     boolean moved = false;
     for (Map.Entry<DirectionalMove, Long> entry : entries.entrySet()) {
       DirectionalMove entryMove = entry.getKey();
-      DirectionalMove nextMove = entryMove.step(direction);
+      DirectionalMove nextMove = entryMove.step(direction, rules);
       if (nextMove != null) {
         Long loss = entry.getValue();
         boolean arrived = nextBlock.arrive(nextMove, loss);
@@ -88,7 +90,9 @@ public final class Block {
     long loss = previousHeatLoss + this.heatLoss;
     Long oldLoss = entries.get(entryMove);
     if (oldLoss == null || oldLoss > loss) {
-      Logger.info("    " + entryMove + " lose " + loss);
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("    " + entryMove + " lose " + loss);
+      }
       entries.put(entryMove, loss);
       arrived = true;
     }
@@ -0,0 +1,31 @@
+package problem.day17;
+
+/**
+ * The movement rules of a crucible: how far it must and may move in one direction.
+ *
+ * @param minMovesInOneDirection The minimum number of blocks to move in one direction before
+ *                               turning or stopping
+ * @param maxMovesInOneDirection The maximum number of blocks to move in one direction
+ */
+public record CrucibleRules(int minMovesInOneDirection, int maxMovesInOneDirection) {
+  /**
+   * The rules for the normal crucibles of Part 1.
+   */
+  public static final CrucibleRules PART_ONE = new CrucibleRules(1, 3);
+  /**
+   * The rules for the ultra crucibles of Part 2.
+   */
+  public static final CrucibleRules PART_TWO = new CrucibleRules(4, 10);
+
+  /**
+   * Create rules.
+   *
+   * @throws IllegalArgumentException When the minimum is not positive or above the maximum
+   */
+  public CrucibleRules {
+    if (minMovesInOneDirection < 1 || minMovesInOneDirection > maxMovesInOneDirection) {
+      throw new IllegalArgumentException("Invalid move limits: " + minMovesInOneDirection
+          + " - " + maxMovesInOneDirection);
+    }
+  }
+}
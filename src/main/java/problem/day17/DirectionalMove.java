@@ -9,23 +9,21 @@ import tools.Direction;
  * @param moves     The length of the move - how many blocks we are moving in this direction
  */
 public record DirectionalMove(Direction direction, int moves) {
-  public static int minMovesInOneDirection = 1;
-  public static int maxMovesInOneDirection = 3;
-
   /**
    * Move one step in the given direction.
    *
    * @param direction The direction to take
+   * @param rules     The movement rules of the crucible
    * @return A new move or null if it is not allowed to move in the given direction considering
    *     the historical moves so far.
    */
-  public DirectionalMove step(Direction direction) {
+  public DirectionalMove step(Direction direction, CrucibleRules rules) {
     DirectionalMove nextMove = null;
     if (direction != this.direction) {
-      if (moves >= minMovesInOneDirection && direction != this.direction.getOpposite()) {
+      if (moves >= rules.minMovesInOneDirection() && direction != this.direction.getOpposite()) {
         nextMove = new DirectionalMove(direction, 1);
       }
-    } else if (moves < maxMovesInOneDirection) {
+    } else if (moves < rules.maxMovesInOneDirection()) {
       nextMove = new DirectionalMove(direction, moves + 1);
     }
     return nextMove;
@@ -36,7 +34,13 @@ public record DirectionalMove(Direction direction, int moves) {
     return moves + " x " + direction;
   }
 
-  public boolean isValid() {
-    return moves >= minMovesInOneDirection && moves <= maxMovesInOneDirection;
+  /**
+   * Check whether the crucible may stop after this move.
+   *
+   * @param rules The movement rules of the crucible
+   * @return True if the move is within the limits of the rules
+   */
+  public boolean isValid(CrucibleRules rules) {
+    return moves >= rules.minMovesInOneDirection() && moves <= rules.maxMovesInOneDirection();
   }
 }
@@ -0,0 +1,144 @@
+package problem.day17;
+
+import java.util.Arrays;
+import tools.FlatCharGrid;
+
+/**
+ * Finds the path with the lowest heat loss with Dijkstra's algorithm over the states of the
+ * crucible: (row, column, direction, run length), where the run length is the number of blocks
+ * moved in the current direction so far. A state is packed into one int, which is also its index
+ * in the flat distance array. The heat loss of a step is a single digit, so a Dial bucket queue
+ * is used instead of a heap: a ring of ten buckets, one per distance modulo ten, each holding
+ * the states with that tentative distance.
+ */
+public class HeatLossSearch {
+  private static final int DIRECTION_COUNT = 4;
+  /**
+   * The row and column steps for each direction, in the order of the Direction enum:
+   * north, west, south, east. The opposite direction is two steps further.
+   */
+  private static final int[] ROW_STEPS = {-1, 0, 1, 0};
+  private static final int[] COLUMN_STEPS = {0, -1, 0, 1};
+  /**
+   * One bucket for each possible step cost (0 - 9): the queued distances are always within
+   * this range from the current one.
+   */
+  private static final int BUCKET_COUNT = 10;
+  private static final int INITIAL_BUCKET_CAPACITY = 64;
+  private static final int UNREACHED = Integer.MAX_VALUE;
+
+  private final int rowCount;
+  private final int columnCount;
+  private final byte[] heatLoss;
+  private final int minMoves;
+  private final int maxMoves;
+
+  private int[] distances;
+  private final int[][] buckets = new int[BUCKET_COUNT][];
+  private final int[] bucketSizes = new int[BUCKET_COUNT];
+  private long queuedCount;
+
+  /**
+   * Create a search.
+   *
+   * @param grid  The heat loss of each block, digits; it is not modified
+   * @param rules The movement rules of the crucible
+   */
+  public HeatLossSearch(FlatCharGrid grid, CrucibleRules rules) {
+    this.rowCount = grid.getRowCount();
+    this.columnCount = grid.getColumnCount();
+    this.minMoves = rules.minMovesInOneDirection();
+    this.maxMoves = rules.maxMovesInOneDirection();
+    heatLoss = new byte[rowCount * columnCount];
+    for (int row = 0; row < rowCount; ++row) {
+      for (int column = 0; column < columnCount; ++column) {
+        heatLoss[row * columnCount + column] =
+            (byte) (grid.getCharacterUnchecked(row, column) - '0');
+      }
+    }
+  }
+
+  /**
+   * Pack a state into its index: the run length (1 .. maxMoves) is the lowest part, then the
+   * direction, then the block.
+   */
+  private int packState(int block, int direction, int run) {
+    return (block * DIRECTION_COUNT + direction) * maxMoves + run - 1;
+  }
+
+  /**
+   * Find the path with the lowest heat loss from the top-left block to the bottom-right one.
+   * The start block does not count, the crucible may leave it in any direction.
+   *
+   * @return The heat loss along the best path
+   * @throws IllegalStateException When the destination can't be reached
+   */
+  public long findShortestPath() throws IllegalStateException {
+    distances = new int[rowCount * columnCount * DIRECTION_COUNT * maxMoves];
+    Arrays.fill(distances, UNREACHED);
+    for (int bucket = 0; bucket < BUCKET_COUNT; ++bucket) {
+      buckets[bucket] = new int[INITIAL_BUCKET_CAPACITY];
+      bucketSizes[bucket] = 0;
+    }
+    queuedCount = 0;
+    for (int direction = 0; direction < DIRECTION_COUNT; ++direction) {
+      tryStep(0, 0, 0, direction, 1);
+    }
+
+    int destination = rowCount * columnCount - 1;
+    for (int distance = 0; queuedCount > 0; ++distance) {
+      int bucket = distance % BUCKET_COUNT;
+      while (bucketSizes[bucket] > 0) {
+        int state = buckets[bucket][--bucketSizes[bucket]];
+        queuedCount--;
+        if (distances[state] != distance) {
+          // Stale entry: the state has been reached with a lower loss since it was queued
+          continue;
+        }
+        int run = state % maxMoves + 1;
+        int direction = state / maxMoves % DIRECTION_COUNT;
+        int block = state / maxMoves / DIRECTION_COUNT;
+        if (block == destination && run >= minMoves) {
+          return distance;
+        }
+        int row = block / columnCount;
+        int column = block % columnCount;
+        if (run < maxMoves) {
+          tryStep(distance, row, column, direction, run + 1);
+        }
+        if (run >= minMoves) {
+          tryStep(distance, row, column, (direction + 1) % DIRECTION_COUNT, 1);
+          tryStep(distance, row, column, (direction + 3) % DIRECTION_COUNT, 1);
+        }
+      }
+    }
+    throw new IllegalStateException("Did not find path to the destination!");
+  }
+
+  /**
+   * Move one block from (row, column) in the direction, queue the new state if it was not
+   * reached with a lower loss yet.
+   */
+  private void tryStep(int distance, int row, int column, int direction, int run) {
+    int nextRow = row + ROW_STEPS[direction];
+    int nextColumn = column + COLUMN_STEPS[direction];
+    if (nextRow < 0 || nextRow >= rowCount || nextColumn < 0 || nextColumn >= columnCount) {
+      return;
+    }
+    int block = nextRow * columnCount + nextColumn;
+    int nextDistance = distance + heatLoss[block];
+    int state = packState(block, direction, run);
+    if (nextDistance < distances[state]) {
+      distances[state] = nextDistance;
+      enqueue(state, nextDistance % BUCKET_COUNT);
+    }
+  }
+
+  private void enqueue(int state, int bucket) {
+    if (bucketSizes[bucket] == buckets[bucket].length) {
+      buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+    }
+    buckets[bucket][bucketSizes[bucket]++] = state;
+    queuedCount++;
+  }
+}
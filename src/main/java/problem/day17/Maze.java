@@ -2,8 +2,8 @@ package problem.day17;
 
 import java.util.ArrayDeque;
 import java.util.Queue;
-import tools.CharArrayGrid;
 import tools.Direction;
+import tools.FlatCharGrid;
 import tools.Logger;
 import tools.Vector;
 
@@ -11,17 +11,20 @@ import tools.Vector;
  * A maze consisting of blocks.
  */
 public class Maze {
-  private final CharArrayGrid grid;
+  private final FlatCharGrid grid;
+  private final CrucibleRules rules;
   private Block[][] blocks;
   private final Queue<Vector> toVisit = new ArrayDeque<>();
 
   /**
    * Create a maze.
    *
-   * @param grid The grid describing the blocks of the maze.
+   * @param grid  The grid describing the blocks of the maze, it is not modified
+   * @param rules The movement rules of the crucible
    */
-  public Maze(CharArrayGrid grid) {
+  public Maze(FlatCharGrid grid, CrucibleRules rules) {
     this.grid = grid;
+    this.rules = rules;
     initializeBlocks();
   }
 
@@ -30,7 +33,7 @@ public class Maze {
     for (int row = 0; row < grid.getRowCount(); ++row) {
       blocks[row] = new Block[grid.getColumnCount()];
       for (int column = 0; column < grid.getColumnCount(); ++column) {
-        int heatLossInBlock = grid.getCharacter(row, column) - '0';
+        int heatLossInBlock = grid.getCharacterUnchecked(row, column) - '0';
         blocks[row][column] = new Block(heatLossInBlock);
       }
     }
@@ -46,14 +49,18 @@ public class Maze {
     blocks[0][0].setAsStart();
     while (!toVisit.isEmpty()) {
       Vector position = toVisit.poll();
-      Logger.info(position + ":");
+      if (Logger.isDebugEnabled()) {
+        Logger.debug(position + ":");
+      }
       Block block = blocks[position.y()][position.x()];
       for (Direction direction : Direction.values()) {
         Vector nextPosition = position.step(direction);
         Block nextBlock = getBlock(nextPosition);
         if (nextBlock != null) {
-          Logger.info("  " + nextPosition);
-          if (block.moveTo(nextBlock, direction)) {
+          if (Logger.isDebugEnabled()) {
+            Logger.debug("  " + nextPosition);
+          }
+          if (block.moveTo(nextBlock, direction, rules)) {
             toVisit.add(nextPosition);
           }
         }
@@ -73,7 +80,7 @@ public class Maze {
   }
 
   private long getMinimumLossFor(Vector newPosition) {
-    return blocks[newPosition.y()][newPosition.x()].getMinimumHeatLoss();
+    return blocks[newPosition.y()][newPosition.x()].getMinimumHeatLoss(rules);
   }
 
   private long getMinimumLossFor(int row, int column) {
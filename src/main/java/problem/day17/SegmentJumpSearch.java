@@ -0,0 +1,170 @@
+package problem.day17;
+
+import java.util.Arrays;
+import tools.FlatCharGrid;
+
+/**
+ * Finds the path with the lowest heat loss with Dijkstra's algorithm over the turns of the
+ * crucible only. A state is a block where the crucible turns, with the axis it arrived on
+ * (vertical or horizontal); from there, it moves along the other axis, whole straight segments
+ * of minimum to maximum blocks at once, in both directions. The heat loss of a segment is taken
+ * from per-row and per-column prefix sums, so a segment costs the same as a single step.
+ * Compared to {@link HeatLossSearch}, the run length and the direction drop out of the state:
+ * there are 2 states per block instead of 4 times the maximum run length.
+ * The heat loss of a segment is at most 9 times the maximum run length, the Dial bucket queue
+ * has one bucket for each possible segment cost.
+ */
+public class SegmentJumpSearch {
+  private static final int AXIS_COUNT = 2;
+  private static final int VERTICAL = 0;
+  private static final int HORIZONTAL = 1;
+  private static final int MAX_BLOCK_HEAT_LOSS = 9;
+  private static final int INITIAL_BUCKET_CAPACITY = 64;
+  private static final int UNREACHED = Integer.MAX_VALUE;
+
+  private final int rowCount;
+  private final int columnCount;
+  private final int minMoves;
+  private final int maxMoves;
+  /**
+   * rowPrefix[row * (columnCount + 1) + column] is the heat loss of the blocks of the row before
+   * the column.
+   */
+  private final int[] rowPrefix;
+  /**
+   * columnPrefix[column * (rowCount + 1) + row] is the heat loss of the blocks of the column
+   * above the row.
+   */
+  private final int[] columnPrefix;
+  private final int bucketCount;
+
+  private int[] distances;
+  private int[][] buckets;
+  private int[] bucketSizes;
+  private long queuedCount;
+
+  /**
+   * Create a search.
+   *
+   * @param grid  The heat loss of each block, digits; it is not modified
+   * @param rules The movement rules of the crucible
+   */
+  public SegmentJumpSearch(FlatCharGrid grid, CrucibleRules rules) {
+    this.rowCount = grid.getRowCount();
+    this.columnCount = grid.getColumnCount();
+    this.minMoves = rules.minMovesInOneDirection();
+    this.maxMoves = rules.maxMovesInOneDirection();
+    rowPrefix = new int[rowCount * (columnCount + 1)];
+    columnPrefix = new int[columnCount * (rowCount + 1)];
+    for (int row = 0; row < rowCount; ++row) {
+      for (int column = 0; column < columnCount; ++column) {
+        int loss = grid.getCharacterUnchecked(row, column) - '0';
+        rowPrefix[row * (columnCount + 1) + column + 1] =
+            rowPrefix[row * (columnCount + 1) + column] + loss;
+        columnPrefix[column * (rowCount + 1) + row + 1] =
+            columnPrefix[column * (rowCount + 1) + row] + loss;
+      }
+    }
+    bucketCount = MAX_BLOCK_HEAT_LOSS * maxMoves + 1;
+  }
+
+  /**
+   * Find the path with the lowest heat loss from the top-left block to the bottom-right one.
+   * The start block does not count, the crucible may leave it in any direction.
+   *
+   * @return The heat loss along the best path
+   * @throws IllegalStateException When the destination can't be reached
+   */
+  public long findShortestPath() throws IllegalStateException {
+    int destination = rowCount * columnCount - 1;
+    if (destination == 0) {
+      return 0;
+    }
+    distances = new int[rowCount * columnCount * AXIS_COUNT];
+    Arrays.fill(distances, UNREACHED);
+    buckets = new int[bucketCount][INITIAL_BUCKET_CAPACITY];
+    bucketSizes = new int[bucketCount];
+    queuedCount = 0;
+    // Arriving at the start on either axis allows leaving it in all four directions
+    for (int axis = 0; axis < AXIS_COUNT; ++axis) {
+      distances[axis] = 0;
+      enqueue(axis, 0);
+    }
+
+    for (int distance = 0; queuedCount > 0; ++distance) {
+      int bucket = distance % bucketCount;
+      while (bucketSizes[bucket] > 0) {
+        int state = buckets[bucket][--bucketSizes[bucket]];
+        queuedCount--;
+        if (distances[state] != distance) {
+          // Stale entry: the state has been reached with a lower loss since it was queued
+          continue;
+        }
+        int block = state / AXIS_COUNT;
+        if (block == destination) {
+          return distance;
+        }
+        int row = block / columnCount;
+        int column = block % columnCount;
+        if (state % AXIS_COUNT == VERTICAL) {
+          jumpAlongRow(distance, row, column);
+        } else {
+          jumpAlongColumn(distance, row, column);
+        }
+      }
+    }
+    throw new IllegalStateException("Did not find path to the destination!");
+  }
+
+  /**
+   * Move west and east from (row, column), every allowed segment length.
+   */
+  private void jumpAlongRow(int distance, int row, int column) {
+    int rowStart = row * (columnCount + 1);
+    int lastEast = Math.min(column + maxMoves, columnCount - 1);
+    for (int next = column + minMoves; next <= lastEast; ++next) {
+      int loss = rowPrefix[rowStart + next + 1] - rowPrefix[rowStart + column + 1];
+      tryJump(distance + loss, (row * columnCount + next) * AXIS_COUNT + HORIZONTAL);
+    }
+    int lastWest = Math.max(column - maxMoves, 0);
+    for (int next = column - minMoves; next >= lastWest; --next) {
+      int loss = rowPrefix[rowStart + column] - rowPrefix[rowStart + next];
+      tryJump(distance + loss, (row * columnCount + next) * AXIS_COUNT + HORIZONTAL);
+    }
+  }
+
+  /**
+   * Move north and south from (row, column), every allowed segment length.
+   */
+  private void jumpAlongColumn(int distance, int row, int column) {
+    int columnStart = column * (rowCount + 1);
+    int lastSouth = Math.min(row + maxMoves, rowCount - 1);
+    for (int next = row + minMoves; next <= lastSouth; ++next) {
+      int loss = columnPrefix[columnStart + next + 1] - columnPrefix[columnStart + row + 1];
+      tryJump(distance + loss, (next * columnCount + column) * AXIS_COUNT + VERTICAL);
+    }
+    int lastNorth = Math.max(row - maxMoves, 0);
+    for (int next = row - minMoves; next >= lastNorth; --next) {
+      int loss = columnPrefix[columnStart + row] - columnPrefix[columnStart + next];
+      tryJump(distance + loss, (next * columnCount + column) * AXIS_COUNT + VERTICAL);
+    }
+  }
+
+  /**
+   * Queue the state at the end of a segment if it was not reached with a lower loss yet.
+   */
+  private void tryJump(int nextDistance, int state) {
+    if (nextDistance < distances[state]) {
+      distances[state] = nextDistance;
+      enqueue(state, nextDistance % bucketCount);
+    }
+  }
+
+  private void enqueue(int state, int bucket) {
+    if (bucketSizes[bucket] == buckets[bucket].length) {
+      buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+    }
+    buckets[bucket][bucketSizes[bucket]++] = state;
+    queuedCount++;
+  }
+}
@@ -1,6 +1,9 @@
 package problem.day17;
 
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import tools.FlatCharGrid;
 import tools.InputFile;
 import tools.Logger;
 
@@ -9,31 +12,115 @@ import tools.Logger;
  * See description here: https://adventofcode.com/2023/day/17
  */
 public class Solver {
+  private static final String LEGACY_ARGUMENT = "--legacy";
+  private static final String SEGMENTS_ARGUMENT = "--segments";
+  private static final String CONCURRENT_ARGUMENT = "--concurrent";
+
+  /**
+   * The ways to search for the path.
+   */
+  private enum Engine {
+    /**
+     * Dijkstra search over the crucible states, one block per step.
+     */
+    CELLS,
+    /**
+     * Dijkstra search over the turns only, one whole straight segment per step.
+     */
+    SEGMENTS,
+    /**
+     * The original block-by-block relaxation, slow, kept for comparison.
+     */
+    LEGACY
+  }
+
+  private final Engine engine;
+  private final boolean concurrent;
+
+  private Solver(Engine engine, boolean concurrent) {
+    this.engine = engine;
+    this.concurrent = concurrent;
+  }
 
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments, optional, in any order: --legacy, to use the original
+   *             block-by-block relaxation instead of the Dijkstra search (slow, for comparison);
+   *             --segments, to search over the turns only, jumping whole straight segments;
+   *             --concurrent, to solve both parts at the same time on two threads, and compare
+   *             the wall time with solving them one after the other
    */
   public static void main(String[] args) {
     Logger.info("Starting...");
-    solve();
+    Engine engine = Engine.CELLS;
+    boolean concurrent = false;
+    for (String arg : args) {
+      if (arg.equals(LEGACY_ARGUMENT)) {
+        engine = Engine.LEGACY;
+      } else if (arg.equals(SEGMENTS_ARGUMENT)) {
+        engine = Engine.SEGMENTS;
+      } else if (arg.equals(CONCURRENT_ARGUMENT)) {
+        concurrent = true;
+      }
+    }
+    Solver solver = new Solver(engine, concurrent);
+    solver.solve();
   }
 
-  private static void solve() {
+  private void solve() {
     InputFile inputFile = new InputFile("problem17.input");
     if (!inputFile.exists()) {
       Logger.error("Input file not found");
       return;
     }
 
-    // Part 2
-    DirectionalMove.minMovesInOneDirection = 4;
-    DirectionalMove.maxMovesInOneDirection = 10;
+    // Both parts use the same grid, the searches only read it
+    FlatCharGrid grid = inputFile.readAllIntoFlatGrid();
+    if (concurrent) {
+      // Warm up first, otherwise the sequential searches pay for the compilation alone and the
+      // comparison is meaningless
+      findHeatLoss(grid, CrucibleRules.PART_ONE);
+      findHeatLoss(grid, CrucibleRules.PART_TWO);
+    }
+    long startTime = System.nanoTime();
+    long partOne = findHeatLoss(grid, CrucibleRules.PART_ONE);
+    long partTwo = findHeatLoss(grid, CrucibleRules.PART_TWO);
+    double sequentialMillis = (System.nanoTime() - startTime) / 1e6;
+    Logger.info("Part 1 shortest path: " + partOne);
+    Logger.info("Part 2 shortest path: " + partTwo);
+    Logger.info(String.format("Sequential searches took %.1f ms", sequentialMillis));
 
-    Maze maze = new Maze(inputFile.readAllIntoCharGrid());
-    Logger.info("Shortest path: " + maze.findShortestPath());
+    if (concurrent) {
+      solveConcurrently(grid, sequentialMillis);
+    }
   }
-}
 
+  private void solveConcurrently(FlatCharGrid grid, double sequentialMillis) {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      long startTime = System.nanoTime();
+      CompletableFuture<Long> partOne = CompletableFuture.supplyAsync(
+          () -> findHeatLoss(grid, CrucibleRules.PART_ONE), executor);
+      CompletableFuture<Long> partTwo = CompletableFuture.supplyAsync(
+          () -> findHeatLoss(grid, CrucibleRules.PART_TWO), executor);
+      long partOneLoss = partOne.join();
+      long partTwoLoss = partTwo.join();
+      double concurrentMillis = (System.nanoTime() - startTime) / 1e6;
+      Logger.info("Concurrent: part 1 " + partOneLoss + ", part 2 " + partTwoLoss);
+      Logger.info(String.format("Concurrent searches took %.1f ms (sequential %.1f ms), "
+          + "speedup %.2f on %d processors", concurrentMillis, sequentialMillis,
+          sequentialMillis / concurrentMillis, Runtime.getRuntime().availableProcessors()));
+    } finally {
+      executor.shutdown();
+    }
+  }
 
+  private long findHeatLoss(FlatCharGrid grid, CrucibleRules rules) {
+    return switch (engine) {
+      case CELLS -> new HeatLossSearch(grid, rules).findShortestPath();
+      case SEGMENTS -> new SegmentJumpSearch(grid, rules).findShortestPath();
+      case LEGACY -> new Maze(grid, rules).findShortestPath();
+    };
+  }
+}
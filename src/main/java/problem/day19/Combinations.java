@@ -3,7 +3,7 @@ package problem.day19;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import tools.IntegerRange;
+import tools.RangeSet;
 
 /**
  * Keep a list of allowed combinations for all the xmas properties.
@@ -11,7 +11,7 @@ import tools.IntegerRange;
 public class Combinations {
   private static final long MIN_VALUE = 1;
   private static final long MAX_VALUE = 4000;
-  private final Map<Character, IntegerRange> propertyRanges = new HashMap<>();
+  private final Map<Character, RangeSet> propertyRanges = new HashMap<>();
 
   /**
    * Don't allow direct instantiation.
@@ -34,8 +34,8 @@ public class Combinations {
     return combinations;
   }
 
-  private static IntegerRange createWholeRange() {
-    return new IntegerRange(MIN_VALUE, MAX_VALUE);
+  private static RangeSet createWholeRange() {
+    return RangeSet.of(MIN_VALUE, MAX_VALUE);
   }
 
   /**
@@ -45,10 +45,10 @@ public class Combinations {
    */
   public static Combinations empty() {
     Combinations combinations = new Combinations();
-    combinations.propertyRanges.put('x', null);
-    combinations.propertyRanges.put('m', null);
-    combinations.propertyRanges.put('a', null);
-    combinations.propertyRanges.put('s', null);
+    combinations.propertyRanges.put('x', RangeSet.EMPTY);
+    combinations.propertyRanges.put('m', RangeSet.EMPTY);
+    combinations.propertyRanges.put('a', RangeSet.EMPTY);
+    combinations.propertyRanges.put('s', RangeSet.EMPTY);
     return combinations;
   }
 
@@ -66,8 +66,7 @@ public class Combinations {
   }
 
   private long getCountFor(Character property) {
-    IntegerRange range = propertyRanges.get(property);
-    return range != null ? range.getLength() : 0;
+    return propertyRanges.get(property).getTotalLength();
   }
 
   /**
@@ -80,7 +79,7 @@ public class Combinations {
     Combinations c = this.createCopy();
     if (condition != null) {
       char property = condition.property();
-      IntegerRange range = c.propertyRanges.get(property);
+      RangeSet range = c.propertyRanges.get(property);
       c.propertyRanges.put(property, condition.applyTo(range));
     }
     return c;
@@ -92,9 +91,8 @@ public class Combinations {
 
   private Combinations createCopy() {
     Combinations copy = new Combinations();
-    for (var entry : propertyRanges.entrySet()) {
-      copy.propertyRanges.put(entry.getKey(), entry.getValue().createCopy());
-    }
+    // The range sets are immutable, they can be shared
+    copy.propertyRanges.putAll(propertyRanges);
     return copy;
   }
 
@@ -106,10 +104,10 @@ public class Combinations {
    */
   public boolean hasSomeEmptyRanges() {
     boolean empty = false;
-    Iterator<IntegerRange> it = propertyRanges.values().iterator();
+    Iterator<RangeSet> it = propertyRanges.values().iterator();
     while (!empty && it.hasNext()) {
-      IntegerRange range = it.next();
-      empty = range == null;
+      RangeSet range = it.next();
+      empty = range.isEmpty();
     }
     return empty;
   }
@@ -121,7 +119,7 @@ public class Combinations {
    */
   public void add(Combinations c) {
     for (Character property : c.propertyRanges.keySet()) {
-      propertyRanges.put(property, c.propertyRanges.get(property).createCopy());
+      propertyRanges.put(property, c.propertyRanges.get(property));
     }
   }
 
@@ -1,6 +1,6 @@
 package problem.day19;
 
-import tools.IntegerRange;
+import tools.RangeSet;
 
 /**
  * A condition to check.
@@ -23,20 +23,20 @@ public record Condition(char property, Comparison comparison, int threshold) {
   /**
    * Apply the condition to allowed ranges of a given property.
    *
-   * @param range The range to constrain with this condition
+   * @param range The ranges to constrain with this condition
+   * @return The ranges matching the condition, may be empty
    */
-  public IntegerRange applyTo(IntegerRange range) {
-    IntegerRange newRange = null;
+  public RangeSet applyTo(RangeSet range) {
+    if (range.isEmpty()) {
+      return range;
+    }
+    RangeSet matching;
     if (comparison == Comparison.GREATER_THAN) {
-      if (range.getEnd() > threshold) {
-        long start = Math.max(threshold + 1L, range.getStart());
-        newRange = new IntegerRange(start, range.getEnd());
-      }
-    } else if (range.getStart() < threshold) {
-      long end = Math.min(threshold - 1L, range.getEnd());
-      newRange = new IntegerRange(range.getStart(), end);
+      matching = RangeSet.of(threshold + 1L, Math.max(threshold + 1L, range.getMax()));
+    } else {
+      matching = RangeSet.of(Math.min(threshold - 1L, range.getMin()), threshold - 1L);
     }
-    return newRange;
+    return range.intersection(matching);
   }
 
   /**
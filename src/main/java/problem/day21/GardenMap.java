@@ -8,7 +8,8 @@ import static tools.Direction.WEST;
 import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Queue;
-import tools.CharArrayGrid;
+import tools.BitGrid;
+import tools.FlatCharGrid;
 import tools.Logger;
 import tools.Vector;
 
@@ -18,12 +19,13 @@ import tools.Vector;
 public class GardenMap {
   private static final char START = 'S';
   private static final char GARDEN = '.';
-  private final CharArrayGrid grid;
+  private final FlatCharGrid grid;
   private final Queue<Vector> toVisit = new ArrayDeque<>();
-  boolean[][] visited;
+  private final BitGrid visited;
 
-  public GardenMap(CharArrayGrid grid) {
+  public GardenMap(FlatCharGrid grid) {
     this.grid = grid;
+    this.visited = BitGrid.alignedWith(grid);
   }
 
 
@@ -39,24 +41,21 @@ public class GardenMap {
     toVisit.add(startPosition);
     for (int i = 0; i < steps; ++i) {
       int spotCount = toVisit.size();
-      Logger.info("  " + i + ": " + spotCount);
-      clearVisited();
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("  " + i + ": " + spotCount);
+      }
+      visited.clearAll();
       for (int j = 0; j < spotCount; ++j) {
         Vector position = toVisit.poll();
-        Logger.info(position.toString());
+        if (Logger.isDebugEnabled()) {
+          Logger.debug(position.toString());
+        }
         tryVisitAdjacent(position);
       }
     }
     return toVisit.size();
   }
 
-  private void clearVisited() {
-    visited = new boolean[grid.getRowCount()][];
-    for (int row = 0; row < grid.getRowCount(); ++row) {
-      visited[row] = new boolean[grid.getColumnCount()];
-    }
-  }
-
   private Vector getStartPosition() {
     List<Vector> positions = grid.findCharacterLocations(START);
     if (positions.size() != 1) {
@@ -74,17 +73,19 @@ public class GardenMap {
 
   private void tryVisit(Vector position) {
     if (canVisit(position)) {
-      Logger.info("    can reach " + position);
+      if (Logger.isDebugEnabled()) {
+        Logger.debug("    can reach " + position);
+      }
       toVisit.add(position);
-      visited[position.y()][position.x()] = true;
+      visited.set(position);
     }
   }
 
   private boolean canVisit(Vector position) {
     boolean canVisit = false;
     if (grid.isWithin(position)) {
-      char c = grid.getCharacter(position);
-      canVisit = (c == GARDEN || c == START) && !visited[position.y()][position.x()];
+      char c = grid.getCharacterUnchecked(position.y(), position.x());
+      canVisit = (c == GARDEN || c == START) && !visited.test(position);
     }
     return canVisit;
   }
@@ -1,6 +1,6 @@
 package problem.day21;
 
-import tools.CharArrayGrid;
+import tools.FlatCharGrid;
 import tools.InputFile;
 import tools.Logger;
 
@@ -30,7 +30,7 @@ public class Solver {
       return;
     }
 
-    CharArrayGrid grid = inputFile.readAllIntoCharGrid();
+    FlatCharGrid grid = inputFile.readAllIntoFlatGrid();
     GardenMap map = new GardenMap(grid);
     long spotCount = map.countReachableSpots(STEP_COUNT);
     Logger.info("After " + STEP_COUNT + " steps the elf can visit " + spotCount + " spots");
@@ -10,9 +10,12 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Queue;
 import java.util.Set;
-import tools.CharArrayGrid;
+import tools.BitGrid;
 import tools.Direction;
+import tools.FlatCharGrid;
 import tools.Logger;
+import tools.LongHashSet;
+import tools.PackedVector;
 import tools.Vector;
 
 /**
@@ -25,18 +28,19 @@ public class Maze {
   private static final char SLOPE_WEST = '<';
   private static final char SLOPE_SOUTH = 'v';
   private static final char FOREST = '#';
-  private final CharArrayGrid grid;
+  private final FlatCharGrid grid;
   private final PathGraph graph = new PathGraph();
-  Set<Vector> visitedCells = new HashSet<>();
+  private final BitGrid visitedCells;
 
   private Vector start;
   private Vector end;
 
   private final boolean canClimb;
 
-  public Maze(CharArrayGrid grid, boolean canClimb) {
+  public Maze(FlatCharGrid grid, boolean canClimb) {
     this.grid = grid;
     this.canClimb = canClimb;
+    this.visitedCells = BitGrid.alignedWith(grid);
   }
 
   /**
@@ -77,16 +81,15 @@ public class Maze {
 
   private void buildPathTree() {
     Queue<Vector> toVisit = new ArrayDeque<>();
-    Set<Vector> visitedJunctions = new HashSet<>();
+    LongHashSet visitedJunctions = new LongHashSet();
     toVisit.add(start);
     while (!toVisit.isEmpty()) {
       Vector junction = toVisit.poll();
-      if (!visitedJunctions.contains(junction)) {
-        visitedJunctions.add(junction);
+      if (visitedJunctions.add(PackedVector.of(junction))) {
         Set<Edge> edges = findReachableJunctions(junction);
         graph.addAll(edges);
         for (Edge edge : edges) {
-          if (!visitedJunctions.contains(edge.to()) && !edge.to().equals(end)) {
+          if (!visitedJunctions.contains(PackedVector.of(edge.to())) && !edge.to().equals(end)) {
             toVisit.add(edge.to());
           }
         }
@@ -101,10 +104,10 @@ public class Maze {
     toVisit.add(new PathCell(from, 0));
     while (!toVisit.isEmpty()) {
       PathCell cell = toVisit.poll();
-      visitedCells.add(cell.position());
+      visitedCells.set(cell.position());
       Set<PathCell> reachableCells = getReachableFrom(cell);
       for (PathCell reachable : reachableCells) {
-        if (!visitedCells.contains(reachable.position())) {
+        if (!visitedCells.test(reachable.position())) {
           if (isJunction(reachable)) {
             addEdges(from, reachable, edges);
           } else {
@@ -133,7 +136,8 @@ public class Maze {
 
   private void tryReach(PathCell cell, Direction direction, Set<PathCell> reachable) {
     Vector next = cell.position().step(direction);
-    if (grid.isWithin(next) && isPassable(grid.getCharacter(next), direction)) {
+    if (grid.isWithin(next)
+        && isPassable(grid.getCharacterUnchecked(next.y(), next.x()), direction)) {
       reachable.add(new PathCell(next, cell.steps() + 1));
     }
 
@@ -158,7 +162,8 @@ public class Maze {
   }
 
   private int isWalkable(Vector position) {
-    return grid.isWithin(position) && grid.getCharacter(position) != FOREST ? 1 : 0;
+    return grid.isWithin(position)
+        && grid.getCharacterUnchecked(position.y(), position.x()) != FOREST ? 1 : 0;
   }
 
   public long getLongestPath() {
@@ -4,6 +4,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import tools.LongHashSet;
+import tools.PackedVector;
 import tools.Vector;
 
 /**
@@ -11,7 +13,7 @@ import tools.Vector;
  */
 public class PathGraph {
   private final Map<Vector, Set<Edge>> edges = new HashMap<>();
-  private final Set<Vector> visited = new HashSet<>();
+  private final LongHashSet visited = new LongHashSet();
 
   public void add(Edge edge) {
     Set<Edge> edgesFromVertex = edges.computeIfAbsent(edge.from(), k -> new HashSet<>());
@@ -34,7 +36,8 @@ public class PathGraph {
       return 0;
     }
 
-    visited.add(from);
+    long packedFrom = PackedVector.of(from);
+    visited.add(packedFrom);
 
     Set<Edge> edgesFrom = edges.get(from);
     if (edgesFrom == null) {
@@ -43,7 +46,7 @@ public class PathGraph {
 
     long longestPath = -1;
     for (Edge e : edgesFrom) {
-      if (!visited.contains(e.to())) {
+      if (!visited.contains(PackedVector.of(e.to()))) {
         long pathAlongThisEdge = e.length() + findLongestPath(e.to(), end);
         if (pathAlongThisEdge >= 0) {
           longestPath = Math.max(pathAlongThisEdge, longestPath);
@@ -51,7 +54,7 @@ public class PathGraph {
       }
     }
 
-    visited.remove(from);
+    visited.remove(packedFrom);
 
     return longestPath;
   }
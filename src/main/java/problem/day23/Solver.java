@@ -1,6 +1,6 @@
 package problem.day23;
 
-import tools.CharArrayGrid;
+import tools.FlatCharGrid;
 import tools.InputFile;
 import tools.Logger;
 
@@ -29,7 +29,7 @@ public class Solver {
       return;
     }
 
-    CharArrayGrid grid = inputFile.readAllIntoCharGrid();
+    FlatCharGrid grid = inputFile.readAllIntoFlatGrid();
     Maze mazePart1 = new Maze(grid, false);
     mazePart1.findPaths();
 
@@ -1,7 +1,7 @@
 package problem.day24;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import tools.InputFile;
 import tools.Logger;
 import tools.Vector3;
@@ -34,11 +34,9 @@ public class Solver {
       return;
     }
 
-    List<String> inputLines = inputFile.readLinesUntilEmptyLine();
-    List<HailStone> hailStones = new ArrayList<>();
-    for (String inputLine : inputLines) {
-      hailStones.add(parseLine(inputLine));
-    }
+    List<HailStone> hailStones = inputFile.streamLinesUntilEmptyLine()
+        .map(this::parseLine)
+        .collect(Collectors.toList());
     int intersections = 0;
     for (int i = 0; i < hailStones.size(); ++i) {
       for (int j = i + 1; j < hailStones.size(); ++j) {
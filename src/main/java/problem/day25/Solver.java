@@ -1,33 +1,50 @@
 package problem.day25;
 
 import java.util.List;
-import java.util.Set;
 import tools.InputFile;
 import tools.Logger;
-import tools.graph.BidirectionalGraph;
+import tools.graph.CsrGraph;
+import tools.graph.CutResult;
 import tools.graph.DotWriter;
+import tools.graph.GraphBuilder;
+import tools.graph.KargerSteinMinCut;
+import tools.graph.StoerWagnerMinCut;
 
 /**
  * Solution for the problem of Day 25
  * See description here: https://adventofcode.com/2023/day/25
  */
 public class Solver {
-  private final BidirectionalGraph graph = new BidirectionalGraph();
+  private static final String KARGER_STEIN_ARGUMENT = "--karger-stein";
+  private static final int EXPECTED_CUT_SIZE = 3;
 
-  // Here we cheat a bit - from the SVG visualization we found that vertex vvs belongs
-  // to the first cluster while fgn belongs to the other. Therefore, we specify the source
-  // and target vertices manually here for the max-flow / min-cut algorithm.
-  private static final String SOURCE = "vvs";
-  private static final String TARGET = "fgn";
+  private final GraphBuilder graphBuilder = new GraphBuilder(true);
+  private final boolean randomized;
+  private final int trialCount;
+
+  private Solver(boolean randomized, int trialCount) {
+    this.randomized = randomized;
+    this.trialCount = trialCount;
+  }
 
   /**
    * Run the solver - solve the puzzle.
    *
-   * @param args Command line arguments, not used (enforced by Java).
+   * @param args Command line arguments. Optional: --karger-stein [trial count], to find the cut
+   *             with the randomized Karger-Stein algorithm on all the processors instead of the
+   *             deterministic Stoer-Wagner algorithm
    */
   public static void main(String[] args) {
     Logger.info("Starting...");
-    Solver solver = new Solver();
+    boolean randomized = false;
+    int trialCount = 0;
+    if (args.length > 0 && args[0].equals(KARGER_STEIN_ARGUMENT)) {
+      randomized = true;
+      if (args.length > 1) {
+        trialCount = Integer.parseInt(args[1]);
+      }
+    }
+    Solver solver = new Solver(randomized, trialCount);
     solver.solve();
   }
 
@@ -43,18 +60,40 @@ public class Solver {
       parseEdges(line);
     }
 
-    Set<String> sourceCluster = graph.findStartCluster(SOURCE, TARGET);
-    Logger.info("Source cluster vertices: " + sourceCluster.size());
-    Set<String> targetCluster = graph.verticesExcept(sourceCluster);
-    Logger.info("Terminating cluster vertices: " + targetCluster.size());
-    if (sourceCluster.size() + targetCluster.size() != graph.getVertexCount()) {
-      throw new IllegalArgumentException("Some vertices missing in the clusters!");
+    CsrGraph graph = graphBuilder.build();
+    Logger.info("Graph has " + graph.getVertexCount() + " vertices and "
+        + graph.getEdgeCount() / 2 + " edges");
+    CutResult cut = findMinimumCut(graph);
+    Logger.info("Minimum cut: " + cut.getWeight() + " edges");
+    for (int edge : cut.getCutEdges()) {
+      Logger.info("  " + describeEdge(graph, edge));
     }
-    Logger.info("Cluster sizes multiplied: " + sourceCluster.size() * targetCluster.size());
+    if (cut.getWeight() != EXPECTED_CUT_SIZE) {
+      Logger.error("Expected a cut of " + EXPECTED_CUT_SIZE + " edges");
+    }
+    Logger.info("First cluster vertices: " + cut.getFirstPartSize());
+    Logger.info("Second cluster vertices: " + cut.getSecondPartSize());
+    Logger.info("Cluster sizes multiplied: "
+        + (long) cut.getFirstPartSize() * cut.getSecondPartSize());
 
     DotWriter.write(graph, "problem25.dot");
   }
 
+  private CutResult findMinimumCut(CsrGraph graph) {
+    if (!randomized) {
+      return new StoerWagnerMinCut(graph).find();
+    }
+    int trials = trialCount > 0 ? trialCount
+        : KargerSteinMinCut.getRecommendedTrialCount(graph.getVertexCount());
+    Logger.info("Running " + trials + " Karger-Stein trials");
+    return new KargerSteinMinCut(graph, trials).find();
+  }
+
+  private static String describeEdge(CsrGraph graph, int edge) {
+    return graph.getName(graph.getEdgeSource(edge)) + " -- "
+        + graph.getName(graph.getTargets()[edge]);
+  }
+
   private void parseEdges(String line) {
     String[] parts = line.split(": ");
     if (parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
@@ -63,7 +102,7 @@ public class Solver {
     String u = parts[0];
     String[] destinations = parts[1].split(" ");
     for (String v : destinations) {
-      graph.addBidirectionalEdge(u, v);
+      graphBuilder.addEdge(u, v);
     }
   }
 }
@@ -0,0 +1,218 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * A grid of boolean flags, one bit per cell, stored in a long-array. Each row starts at a word
+ * boundary (the last word of each row is padded with zero-bits), which allows word-parallel
+ * operations: 64 cells are combined or shifted with a single operation.
+ * A bit grid can be aligned with a character grid, to store a flag for each character.
+ */
+public class BitGrid {
+  private static final int BITS_PER_WORD = 64;
+
+  private final int rowCount;
+  private final int columnCount;
+  private final int wordsPerRow;
+  private final long lastWordMask;
+  private final long[] words;
+
+  /**
+   * Create a bit grid with all the bits cleared.
+   *
+   * @param rowCount    The number of rows
+   * @param columnCount The number of columns
+   */
+  public BitGrid(int rowCount, int columnCount) {
+    this.rowCount = rowCount;
+    this.columnCount = columnCount;
+    this.wordsPerRow = (columnCount + BITS_PER_WORD - 1) / BITS_PER_WORD;
+    int bitsInLastWord = columnCount % BITS_PER_WORD;
+    this.lastWordMask = bitsInLastWord == 0 ? -1L : (1L << bitsInLastWord) - 1;
+    this.words = new long[rowCount * wordsPerRow];
+  }
+
+  /**
+   * Create a bit grid with the same dimensions as the given character grid, all bits cleared.
+   *
+   * @param grid The character grid to align with
+   * @return The bit grid
+   */
+  public static BitGrid alignedWith(CharacterGrid grid) {
+    return new BitGrid(grid.getRowCount(), grid.getColumnCount());
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /**
+   * Set the bit for the given cell.
+   *
+   * @param row    The row of the cell
+   * @param column The column of the cell
+   * @throws IllegalArgumentException When the cell is outside the grid
+   */
+  public void set(int row, int column) throws IllegalArgumentException {
+    words[getWordIndex(row, column)] |= getBitMask(column);
+  }
+
+  public void set(Vector position) throws IllegalArgumentException {
+    set(position.y(), position.x());
+  }
+
+  /**
+   * Clear the bit for the given cell.
+   *
+   * @param row    The row of the cell
+   * @param column The column of the cell
+   * @throws IllegalArgumentException When the cell is outside the grid
+   */
+  public void clear(int row, int column) throws IllegalArgumentException {
+    words[getWordIndex(row, column)] &= ~getBitMask(column);
+  }
+
+  public void clear(Vector position) throws IllegalArgumentException {
+    clear(position.y(), position.x());
+  }
+
+  /**
+   * Check whether the bit for the given cell is set.
+   *
+   * @param row    The row of the cell
+   * @param column The column of the cell
+   * @return True when the bit is set, false otherwise
+   * @throws IllegalArgumentException When the cell is outside the grid
+   */
+  public boolean test(int row, int column) throws IllegalArgumentException {
+    return (words[getWordIndex(row, column)] & getBitMask(column)) != 0;
+  }
+
+  public boolean test(Vector position) throws IllegalArgumentException {
+    return test(position.y(), position.x());
+  }
+
+  private int getWordIndex(int row, int column) {
+    if (row < 0 || row >= rowCount || column < 0 || column >= columnCount) {
+      throw new IllegalArgumentException("Invalid coordinates: (" + column + ", " + row + ")");
+    }
+    return row * wordsPerRow + column / BITS_PER_WORD;
+  }
+
+  private static long getBitMask(int column) {
+    return 1L << (column % BITS_PER_WORD);
+  }
+
+  /**
+   * Clear all the bits.
+   */
+  public void clearAll() {
+    Arrays.fill(words, 0);
+  }
+
+  /**
+   * Count the set bits.
+   *
+   * @return The number of cells having the bit set
+   */
+  public long popCount() {
+    long count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Keep only those bits which are set in both this grid and the other grid (this &= other).
+   *
+   * @param other The other grid, must have the same dimensions
+   * @throws IllegalArgumentException When the dimensions of the grids differ
+   */
+  public void and(BitGrid other) throws IllegalArgumentException {
+    assertSameDimensions(other);
+    for (int i = 0; i < words.length; ++i) {
+      words[i] &= other.words[i];
+    }
+  }
+
+  /**
+   * Set all the bits which are set in the other grid (this |= other).
+   *
+   * @param other The other grid, must have the same dimensions
+   * @throws IllegalArgumentException When the dimensions of the grids differ
+   */
+  public void or(BitGrid other) throws IllegalArgumentException {
+    assertSameDimensions(other);
+    for (int i = 0; i < words.length; ++i) {
+      words[i] |= other.words[i];
+    }
+  }
+
+  private void assertSameDimensions(BitGrid other) {
+    if (other.rowCount != rowCount || other.columnCount != columnCount) {
+      throw new IllegalArgumentException("Bit grid dimensions differ: " + rowCount + "x"
+          + columnCount + " vs " + other.rowCount + "x" + other.columnCount);
+    }
+  }
+
+  /**
+   * Create a new grid where all the bits of this grid are moved one cell in the given direction.
+   * The bits moved outside the grid are dropped, the vacated cells are cleared.
+   * This grid is unchanged!
+   *
+   * @param direction The direction in which to move the bits
+   * @return A new, shifted grid
+   */
+  public BitGrid shifted(Direction direction) {
+    BitGrid result = new BitGrid(rowCount, columnCount);
+    if (rowCount == 0) {
+      return result;
+    }
+    switch (direction) {
+      case NORTH -> System.arraycopy(words, wordsPerRow, result.words, 0,
+          words.length - wordsPerRow);
+      case SOUTH -> System.arraycopy(words, 0, result.words, wordsPerRow,
+          words.length - wordsPerRow);
+      case EAST -> shiftRowsEast(result.words);
+      case WEST -> shiftRowsWest(result.words);
+    }
+    return result;
+  }
+
+  private void shiftRowsEast(long[] destination) {
+    for (int rowStart = 0; rowStart < words.length; rowStart += wordsPerRow) {
+      long carry = 0;
+      for (int i = rowStart; i < rowStart + wordsPerRow; ++i) {
+        destination[i] = (words[i] << 1) | carry;
+        carry = words[i] >>> (BITS_PER_WORD - 1);
+      }
+      destination[rowStart + wordsPerRow - 1] &= lastWordMask;
+    }
+  }
+
+  private void shiftRowsWest(long[] destination) {
+    for (int rowStart = 0; rowStart < words.length; rowStart += wordsPerRow) {
+      long carry = 0;
+      for (int i = rowStart + wordsPerRow - 1; i >= rowStart; --i) {
+        destination[i] = (words[i] >>> 1) | carry;
+        carry = words[i] << (BITS_PER_WORD - 1);
+      }
+    }
+  }
+
+  /**
+   * Create a copy of this grid.
+   *
+   * @return A new grid with the same bits set
+   */
+  public BitGrid createCopy() {
+    BitGrid copy = new BitGrid(rowCount, columnCount);
+    System.arraycopy(words, 0, copy.words, 0, words.length);
+    return copy;
+  }
+}
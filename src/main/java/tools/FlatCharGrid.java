@@ -0,0 +1,199 @@
+package tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A grid which stores all the characters in a single char-array, row after row (row-major order).
+ * The character at (row, column) is stored at index row * columnCount + column.
+ * Each character can be both accessed and replaced in constant time, without any indirection.
+ * The unchecked accessors skip the boundary checks, they are meant for internal loops where
+ * the coordinates are known to be within the grid.
+ */
+public class FlatCharGrid extends CharacterGrid {
+  private static final int INITIAL_ROW_CAPACITY = 16;
+
+  private char[] chars = new char[0];
+  private int rowCount = 0;
+  private int columnCount = 0;
+
+  /**
+   * Create a flat char grid.
+   *
+   * @param rows    The number of rows
+   * @param columns The number of columns
+   * @param fill    The character to use for the fill.
+   * @return The grid with desired dimensions, filled with the specified character
+   */
+  public static FlatCharGrid createWithFill(int rows, int columns, char fill) {
+    FlatCharGrid grid = new FlatCharGrid();
+    grid.chars = new char[rows * columns];
+    Arrays.fill(grid.chars, fill);
+    grid.rowCount = rows;
+    grid.columnCount = columns;
+    return grid;
+  }
+
+  @Override
+  public void appendRow(String row) throws IllegalArgumentException {
+    checkRowValidity(row);
+    columnCount = row.length();
+    int requiredLength = (rowCount + 1) * columnCount;
+    if (requiredLength > chars.length) {
+      int rowCapacity = Math.max(INITIAL_ROW_CAPACITY, rowCount * 2);
+      chars = Arrays.copyOf(chars, rowCapacity * columnCount);
+    }
+    row.getChars(0, columnCount, chars, rowCount * columnCount);
+    rowCount++;
+  }
+
+  @Override
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  @Override
+  public String getRow(int rowIndex) throws IllegalArgumentException {
+    assertRowWithinBoundaries(rowIndex);
+    return new String(chars, rowIndex * columnCount, columnCount);
+  }
+
+  @Override
+  public void setCharacter(int rowIndex, int columnIndex, char c) throws IllegalArgumentException {
+    assertWithinBoundaries(rowIndex, columnIndex);
+    chars[rowIndex * columnCount + columnIndex] = c;
+  }
+
+  @Override
+  public void replaceRow(int rowIndex, String row) throws IllegalArgumentException {
+    assertRowWithinBoundaries(rowIndex);
+    checkRowValidity(row);
+    row.getChars(0, columnCount, chars, rowIndex * columnCount);
+  }
+
+  @Override
+  public char getCharacter(int rowIndex, int columnIndex) throws IllegalArgumentException {
+    assertWithinBoundaries(rowIndex, columnIndex);
+    return chars[rowIndex * columnCount + columnIndex];
+  }
+
+  private void assertWithinBoundaries(int rowIndex, int columnIndex) {
+    // Compare the fields directly, report the error through the common assertions
+    if (rowIndex < 0 || rowIndex >= rowCount || columnIndex < 0 || columnIndex >= columnCount) {
+      assertRowWithinBoundaries(rowIndex);
+      assertColumnWithinBoundaries(columnIndex);
+    }
+  }
+
+  /**
+   * Get character at a specific row and column, without checking the boundaries. The caller must
+   * make sure that the coordinates are within the grid, otherwise the result is undefined (a
+   * character from another row may be returned).
+   *
+   * @param rowIndex    Index of the row
+   * @param columnIndex Index of the column
+   * @return The character at the specified row and column
+   */
+  public char getCharacterUnchecked(int rowIndex, int columnIndex) {
+    return chars[rowIndex * columnCount + columnIndex];
+  }
+
+  /**
+   * Replace a character at a given row and given column, without checking the boundaries.
+   * The caller must make sure that the coordinates are within the grid.
+   *
+   * @param rowIndex    The row of the character to replace
+   * @param columnIndex The column of the character to replace
+   * @param c           The replacement character
+   */
+  public void setCharacterUnchecked(int rowIndex, int columnIndex, char c) {
+    chars[rowIndex * columnCount + columnIndex] = c;
+  }
+
+  @Override
+  public List<Vector> findCharacterLocations(char c) {
+    List<Vector> positions = new ArrayList<>();
+    GridScanner scanner = GridScanner.getInstance();
+    int cellCount = rowCount * columnCount;
+    int i = scanner.indexOf(chars, 0, cellCount, c);
+    while (i >= 0) {
+      positions.add(new Vector(i % columnCount, i / columnCount));
+      i = scanner.indexOf(chars, i + 1, cellCount, c);
+    }
+    return positions;
+  }
+
+  /**
+   * Check whether a row consists of one character only.
+   *
+   * @param rowIndex The index of the row to check
+   * @param c        The expected character
+   * @return True if all the characters in the row are c
+   * @throws IllegalArgumentException When the row index is outside boundaries
+   */
+  public boolean isRowFilledWith(int rowIndex, char c) throws IllegalArgumentException {
+    assertRowWithinBoundaries(rowIndex);
+    int offset = rowIndex * columnCount;
+    return GridScanner.getInstance().isFilledWith(chars, offset, offset + columnCount, c);
+  }
+
+  /**
+   * Find the columns which consist of one character only. The rows are scanned one by one,
+   * the characters of a column are not adjacent in memory.
+   *
+   * @param c The expected character
+   * @return Flags for each column, true when all the characters in the column are c
+   */
+  public boolean[] findColumnsFilledWith(char c) {
+    GridScanner scanner = GridScanner.getInstance();
+    boolean[] differs = new boolean[columnCount];
+    for (int row = 0; row < rowCount; ++row) {
+      scanner.markDifferentColumns(chars, row * columnCount, columnCount, c, differs);
+    }
+    boolean[] filled = new boolean[columnCount];
+    for (int column = 0; column < columnCount; ++column) {
+      filled[column] = !differs[column];
+    }
+    return filled;
+  }
+
+  /**
+   * Count the columns where two rows contain different characters.
+   *
+   * @param rowIndex1 The index of the first row
+   * @param rowIndex2 The index of the second row
+   * @return The number of differing characters (Hamming distance of the rows)
+   * @throws IllegalArgumentException When a row index is outside boundaries
+   */
+  public int countRowDifferences(int rowIndex1, int rowIndex2) throws IllegalArgumentException {
+    assertRowWithinBoundaries(rowIndex1);
+    assertRowWithinBoundaries(rowIndex2);
+    return GridScanner.getInstance().countDifferences(chars, rowIndex1 * columnCount,
+        chars, rowIndex2 * columnCount, columnCount);
+  }
+
+  /**
+   * Create a transposed copy of the grid: rows become columns and vice versa. Columns can then
+   * be compared as rows, with characters adjacent in memory.
+   *
+   * @return The transposed grid
+   */
+  public FlatCharGrid transpose() {
+    FlatCharGrid transposed = new FlatCharGrid();
+    transposed.chars = new char[rowCount * columnCount];
+    transposed.rowCount = columnCount;
+    transposed.columnCount = rowCount;
+    for (int row = 0; row < rowCount; ++row) {
+      for (int column = 0; column < columnCount; ++column) {
+        transposed.chars[column * rowCount + row] = chars[row * columnCount + column];
+      }
+    }
+    return transposed;
+  }
+}
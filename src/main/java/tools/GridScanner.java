@@ -0,0 +1,87 @@
+package tools;
+
+/**
+ * Scans rows of characters stored in char arrays: character search, comparison of a row against
+ * a single character, and the Hamming distance between two rows.
+ * The implementation using SIMD instructions (the incubating JDK Vector API) is compiled only
+ * in the "simd" build profile and needs the jdk.incubator.vector module at runtime. When it
+ * is not available, the plain scalar implementation is used instead.
+ */
+public abstract class GridScanner {
+  private static final String VECTOR_SCANNER_CLASS = "tools.VectorGridScanner";
+  private static GridScanner instance;
+
+  /**
+   * Get the fastest scanner available in this build and this JVM.
+   *
+   * @return The SIMD scanner when possible, the scalar scanner otherwise
+   */
+  public static synchronized GridScanner getInstance() {
+    if (instance == null) {
+      instance = createVectorScanner();
+      if (instance == null) {
+        instance = new ScalarGridScanner();
+      }
+      Logger.debug("Using " + instance.getClass().getSimpleName());
+    }
+    return instance;
+  }
+
+  private static GridScanner createVectorScanner() {
+    try {
+      Class<?> scannerClass = Class.forName(VECTOR_SCANNER_CLASS);
+      return (GridScanner) scannerClass.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      // Not compiled in, or the jdk.incubator.vector module is not added at runtime
+      return null;
+    }
+  }
+
+  /**
+   * Find the first occurrence of a character.
+   *
+   * @param chars The characters to scan
+   * @param from  The first index to scan (inclusive)
+   * @param to    The last index to scan (exclusive)
+   * @param c     The character to look for
+   * @return The index of the first occurrence, -1 if the character is not found
+   */
+  public abstract int indexOf(char[] chars, int from, int to, char c);
+
+  /**
+   * Check whether all the characters in a range are the same as the given character.
+   *
+   * @param chars The characters to scan
+   * @param from  The first index to scan (inclusive)
+   * @param to    The last index to scan (exclusive)
+   * @param c     The expected character
+   * @return True if all the characters in the range are equal to c
+   */
+  public abstract boolean isFilledWith(char[] chars, int from, int to, char c);
+
+  /**
+   * Mark the columns where the row contains a different character than the given one.
+   * Calling this for every row finds the columns which are filled with the character.
+   *
+   * @param chars    The characters to scan
+   * @param offset   The index of the first character of the row
+   * @param length   The length of the row
+   * @param c        The expected character
+   * @param differs  The marks, differs[i] is set to true when chars[offset + i] is not c,
+   *                 the other marks are left untouched
+   */
+  public abstract void markDifferentColumns(char[] chars, int offset, int length, char c,
+                                            boolean[] differs);
+
+  /**
+   * Count the positions where two rows contain different characters (the Hamming distance).
+   *
+   * @param a       The characters of the first row
+   * @param aOffset The index of the first character in a
+   * @param b       The characters of the second row
+   * @param bOffset The index of the first character in b
+   * @param length  The number of characters to compare
+   * @return The number of positions where the characters differ
+   */
+  public abstract int countDifferences(char[] a, int aOffset, char[] b, int bOffset, int length);
+}
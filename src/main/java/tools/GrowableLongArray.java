@@ -0,0 +1,95 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * An array of long values which grows when necessary. Intended to be reused: clear it and fill
+ * it again, the allocated storage is kept. No boxing is involved.
+ */
+public class GrowableLongArray {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] values;
+  private int size = 0;
+
+  /**
+   * Create an empty array with default initial capacity.
+   */
+  public GrowableLongArray() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Create an empty array.
+   *
+   * @param initialCapacity The number of values which can be stored before the array must grow
+   */
+  public GrowableLongArray(int initialCapacity) {
+    values = new long[Math.max(initialCapacity, 1)];
+  }
+
+  /**
+   * Append a value at the end of the array.
+   *
+   * @param value The value to add
+   */
+  public void add(long value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+    }
+    values[size++] = value;
+  }
+
+  /**
+   * Get a value from the array.
+   *
+   * @param index The index of the value, indexing starts at zero
+   * @return The value at the given index
+   * @throws IllegalArgumentException When the index is outside the array
+   */
+  public long get(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= size) {
+      throw new IllegalArgumentException("Invalid index " + index + " for size " + size);
+    }
+    return values[index];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Remove all the values, keep the allocated storage.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Get the internal storage of the array, without copying. Only the first {@link #size()}
+   * elements are valid. The returned array may be replaced when more values are added.
+   *
+   * @return The internal storage array
+   */
+  public long[] getBackingArray() {
+    return values;
+  }
+
+  /**
+   * Create a copy of the values.
+   *
+   * @return A new array containing exactly the stored values
+   */
+  public long[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(toArray());
+  }
+}
@@ -1,36 +1,96 @@
 package tools;
 
 import java.io.BufferedReader;
-import java.io.FileNotFoundException;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Handles input-data files.
+ * By default, the file is read through a buffered reader. Alternatively, a file can be opened
+ * in a memory-mapped mode (see {@link #openMapped(String)}), where the lines can be read as
+ * zero-copy slices (see {@link #readLineSlice()}). All the other reading methods work
+ * in both modes.
+ * Gzip-compressed files (with a .gz extension) are decoded on the fly, while reading.
  */
 public class InputFile {
+  private static final int MAX_PEEK_LENGTH = 1 << 16;
+  private static final String GZIP_EXTENSION = ".gz";
+
   private boolean exists;
   private BufferedReader reader;
+  private MappedFile mappedFile;
   private boolean endOfFileReached;
 
   final char[] charBuffer = new char[1];
 
   /**
-   * Open an input file for reading.
+   * Open an input file for reading. If the name ends with .gz, the file is decompressed while
+   * reading. If the file is not found, but a compressed version (with .gz appended to the name)
+   * exists, the compressed version is read instead.
    *
    * @param filename The name of the input file
    */
   public InputFile(String filename) {
     try {
-      reader = new BufferedReader(new FileReader(filename));
+      if (isCompressed(filename)) {
+        reader = createDecompressingReader(filename);
+      } else if (!new File(filename).exists() && new File(filename + GZIP_EXTENSION).exists()) {
+        reader = createDecompressingReader(filename + GZIP_EXTENSION);
+      } else {
+        reader = new BufferedReader(new FileReader(filename));
+      }
       exists = true;
-    } catch (FileNotFoundException e) {
+    } catch (IOException e) {
       exists = false;
     }
   }
 
+  private static boolean isCompressed(String filename) {
+    return filename.endsWith(GZIP_EXTENSION);
+  }
+
+  private static BufferedReader createDecompressingReader(String filename) throws IOException {
+    return new BufferedReader(new InputStreamReader(
+        new GZIPInputStream(new FileInputStream(filename)), StandardCharsets.US_ASCII));
+  }
+
+  private InputFile() {
+  }
+
+  /**
+   * Open an input file for reading, in the memory-mapped mode. The whole file is mapped into
+   * memory, lines are found by scanning the mapped bytes directly.
+   * Compressed data can't be mapped: if the file is compressed (or only a compressed version
+   * of it exists), it is opened in the default mode instead, see {@link #InputFile(String)}.
+   *
+   * @param filename The name of the input file
+   * @return The input file, check {@link #exists()} before reading it
+   */
+  public static InputFile openMapped(String filename) {
+    if (isCompressed(filename) || !new File(filename).exists()) {
+      return new InputFile(filename);
+    }
+    InputFile inputFile = new InputFile();
+    try {
+      inputFile.mappedFile = new MappedFile(filename);
+      inputFile.exists = true;
+    } catch (IOException e) {
+      inputFile.exists = false;
+    }
+    return inputFile;
+  }
+
   /**
    * Returns the "existence of the file".
    *
@@ -70,6 +130,34 @@ public class InputFile {
     return numbers;
   }
 
+  /**
+   * Read a line from the file, expect that there will be a prefix and the rest of the line
+   * will contain space-separated integers. The bytes of the line are parsed directly, without
+   * creating strings or boxed values.
+   *
+   * @param expectedPrefix The expected prefix of the line
+   * @param numbers        The array where the integers will be stored, it is cleared first
+   * @return The number of integers on the line
+   */
+  public int readSpacedIntegerLine(String expectedPrefix, GrowableLongArray numbers) {
+    numbers.clear();
+    return readSliceWithPrefix(expectedPrefix).parseSpacedIntegers(numbers);
+  }
+
+  private LineSlice readSliceWithPrefix(String expectedPrefix) {
+    LineSlice line = readLineSlice();
+    if (line == null) {
+      throw new IllegalStateException("End of line reached");
+    }
+    if (expectedPrefix != null && !expectedPrefix.isEmpty()) {
+      if (!line.startsWith(expectedPrefix)) {
+        throw new IllegalStateException("Line does not start with the expected prefix: " + line);
+      }
+      line = line.subSlice(expectedPrefix.length());
+    }
+    return line;
+  }
+
   private String readLineWithPrefix(String expectedPrefix) {
     String line = readLine();
     if (line == null) {
@@ -97,12 +185,39 @@ public class InputFile {
     return readLineAndDetectEnd();
   }
 
+  /**
+   * Read the next line without consuming it: the following read returns the same line.
+   *
+   * @return The line as a string, null when end is reached.
+   */
+  public String peekLine() {
+    if (mappedFile != null) {
+      LineSlice slice = mappedFile.peekLine();
+      return slice != null ? slice.toString() : null;
+    }
+
+    String line = null;
+    try {
+      reader.mark(MAX_PEEK_LENGTH);
+      line = reader.readLine();
+      reader.reset();
+    } catch (IOException e) {
+      // Will return null
+    }
+    return line;
+  }
+
   /**
    * Read one line of text from the file and detect whether end of file has been reached.
    *
    * @return The line or null if end is reached (or an error happens)
    */
   private String readLineAndDetectEnd() {
+    if (mappedFile != null) {
+      LineSlice slice = readMappedLineSlice();
+      return slice != null ? slice.toString() : null;
+    }
+
     String value = null;
     try {
       value = reader.readLine();
@@ -115,6 +230,58 @@ public class InputFile {
     return value;
   }
 
+  /**
+   * Read one line from the input file, as a slice of bytes. In the memory-mapped mode the
+   * slice is a view over the mapped file, no bytes are copied. In the default mode the slice
+   * is backed by a copy of the line.
+   *
+   * @return The line as a slice, null when end is reached.
+   */
+  public LineSlice readLineSlice() {
+    if (mappedFile != null) {
+      return readMappedLineSlice();
+    }
+    String line = readLineAndDetectEnd();
+    return line != null ? LineSlice.fromString(line) : null;
+  }
+
+  private LineSlice readMappedLineSlice() {
+    LineSlice slice = mappedFile.readLine();
+    if (slice == null) {
+      endOfFileReached = true;
+    }
+    return slice;
+  }
+
+  /**
+   * Check whether the file is opened in the memory-mapped mode.
+   *
+   * @return True when memory-mapped, false when read through a reader
+   */
+  boolean isMapped() {
+    return mappedFile != null;
+  }
+
+  /**
+   * Get the memory-mapped content of the file.
+   *
+   * @return The mapped file
+   * @throws IllegalStateException When the file was not opened in the memory-mapped mode
+   */
+  MappedFile getMappedFile() throws IllegalStateException {
+    if (mappedFile == null) {
+      throw new IllegalStateException("The input file is not opened in the memory-mapped mode");
+    }
+    return mappedFile;
+  }
+
+  /**
+   * Mark the end of file as reached.
+   */
+  void markEndOfFile() {
+    endOfFileReached = true;
+  }
+
   /**
    * Check whether end of file has been reached.
    *
@@ -147,6 +314,17 @@ public class InputFile {
     return grid;
   }
 
+  /**
+   * Read the content of a file (until the end or until an empty line) into a FlatCharGrid.
+   *
+   * @return The flat character grid representing the file content
+   */
+  public FlatCharGrid readAllIntoFlatGrid() {
+    FlatCharGrid grid = new FlatCharGrid();
+    readAllIntoGrid(grid);
+    return grid;
+  }
+
   private void readAllIntoGrid(CharacterGrid grid) {
     String line = readLineAndDetectEnd();
     while (!isEndOfFile() && line != null && !line.isEmpty()) {
@@ -183,6 +361,19 @@ public class InputFile {
     return lines;
   }
 
+  /**
+   * Get a stream of lines from the input file, read lazily until an empty line (or end of file)
+   * is reached. Unlike {@link #readLinesUntilEmptyLine()}, the lines are not collected in memory:
+   * each line is read only when the stream consumer asks for it.
+   *
+   * @return The stream of lines, not including the empty line
+   */
+  public Stream<String> streamLinesUntilEmptyLine() {
+    Spliterator<String> spliterator = Spliterators.spliteratorUnknownSize(
+        new LineIterator(this), Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false);
+  }
+
   /**
    * Read one character from the file.
    *
@@ -190,6 +381,10 @@ public class InputFile {
    */
   public Character readOneChar() {
     Character result = null;
+    if (mappedFile != null) {
+      int b = mappedFile.readByte();
+      return b >= 0 ? (char) b : null;
+    }
     try {
       int n = reader.read(charBuffer, 0, 1);
       if (n == 1) {
@@ -210,10 +405,6 @@ public class InputFile {
    *     integer number
    */
   public long readLineAsSpacedNumber(String expectedPrefix) {
-    String line = readLineWithPrefix(expectedPrefix);
-    while (line.contains(" ")) {
-      line = line.replace(" ", "");
-    }
-    return Long.parseLong(line);
+    return readSliceWithPrefix(expectedPrefix).parseDigitsIgnoringSpaces();
   }
 }
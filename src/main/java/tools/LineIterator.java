@@ -0,0 +1,45 @@
+package tools;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over lines of an input file, reading them lazily: only the next line is kept
+ * in memory. The iteration stops at the first empty line or at the end of the file.
+ */
+public class LineIterator implements Iterator<String> {
+  private final InputFile inputFile;
+  private String nextLine;
+  private boolean finished = false;
+
+  /**
+   * Create a line iterator. No lines are read before they are requested.
+   *
+   * @param inputFile The file to read the lines from, starting at its current position
+   */
+  public LineIterator(InputFile inputFile) {
+    this.inputFile = inputFile;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextLine == null && !finished) {
+      nextLine = inputFile.readLine();
+      if (nextLine == null || nextLine.isEmpty()) {
+        nextLine = null;
+        finished = true;
+      }
+    }
+    return nextLine != null;
+  }
+
+  @Override
+  public String next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more lines");
+    }
+    String line = nextLine;
+    nextLine = null;
+    return line;
+  }
+}
@@ -0,0 +1,160 @@
+package tools;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A view over one line of text, stored inside a larger byte buffer (for example, a memory-mapped
+ * file). No bytes are copied when a slice is created, the characters are decoded only when
+ * the slice is converted to a string.
+ * The text is expected to contain single-byte (ASCII) characters, as all the puzzle inputs do.
+ *
+ * @param buffer The buffer holding the bytes of the line
+ * @param offset The offset of the first byte of the line within the buffer
+ * @param length The number of bytes in the line, not including the line separator
+ */
+public record LineSlice(ByteBuffer buffer, int offset, int length) {
+  /**
+   * Create a slice backed by a copy of the given string.
+   *
+   * @param s The string to wrap
+   * @return A slice containing the bytes of the string
+   */
+  public static LineSlice fromString(String s) {
+    byte[] bytes = s.getBytes(StandardCharsets.US_ASCII);
+    return new LineSlice(ByteBuffer.wrap(bytes), 0, bytes.length);
+  }
+
+  /**
+   * Get a byte within the line.
+   *
+   * @param i The index of the byte, relative to the start of the line
+   * @return The byte at the given index
+   */
+  public byte byteAt(int i) {
+    return buffer.get(offset + i);
+  }
+
+  /**
+   * Get a character within the line.
+   *
+   * @param i The index of the character, relative to the start of the line
+   * @return The character at the given index
+   */
+  public char charAt(int i) {
+    return (char) (buffer.get(offset + i) & 0xFF);
+  }
+
+  public boolean isEmpty() {
+    return length == 0;
+  }
+
+  /**
+   * Check whether the line starts with the given prefix.
+   *
+   * @param prefix The prefix to look for
+   * @return True when the line starts with the prefix, false otherwise
+   */
+  public boolean startsWith(String prefix) {
+    if (prefix.length() > length) {
+      return false;
+    }
+    int i = 0;
+    while (i < prefix.length() && charAt(i) == prefix.charAt(i)) {
+      ++i;
+    }
+    return i == prefix.length();
+  }
+
+  /**
+   * Create a slice containing the tail of this line, starting at the given index.
+   * No bytes are copied.
+   *
+   * @param beginIndex The index of the first byte to include, relative to the start of the line
+   * @return The tail slice
+   * @throws IllegalArgumentException When the index is outside the line
+   */
+  public LineSlice subSlice(int beginIndex) throws IllegalArgumentException {
+    if (beginIndex < 0 || beginIndex > length) {
+      throw new IllegalArgumentException("Invalid slice start " + beginIndex
+          + " for a line of length " + length);
+    }
+    return new LineSlice(buffer, offset + beginIndex, length - beginIndex);
+  }
+
+  /**
+   * Parse all space-separated integers in this line, append them to the given array. The bytes
+   * are scanned once, no strings are created. Any number of spaces can separate the integers.
+   *
+   * @param numbers The array where to append the parsed integers
+   * @return The number of integers parsed
+   * @throws NumberFormatException When the line contains something else than integers and spaces
+   */
+  public int parseSpacedIntegers(GrowableLongArray numbers) throws NumberFormatException {
+    int count = 0;
+    int position = offset;
+    int end = offset + length;
+    while (position < end) {
+      byte b = buffer.get(position);
+      if (b == ' ') {
+        ++position;
+      } else {
+        boolean negative = b == '-';
+        int digitStart = negative ? position + 1 : position;
+        long value = 0;
+        position = digitStart;
+        while (position < end && (b = buffer.get(position)) != ' ') {
+          int digit = b - '0';
+          if (digit < 0 || digit > 9) {
+            throw new NumberFormatException("Invalid integer in line: " + this);
+          }
+          value = value * 10 + digit;
+          ++position;
+        }
+        if (position == digitStart) {
+          throw new NumberFormatException("Invalid integer in line: " + this);
+        }
+        numbers.add(negative ? -value : value);
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Treat all the digits in this line as a single integer, ignore spaces between them.
+   *
+   * @return The integer value
+   * @throws NumberFormatException When the line contains no digits or something else
+   *                               than digits and spaces
+   */
+  public long parseDigitsIgnoringSpaces() throws NumberFormatException {
+    long value = 0;
+    int digitCount = 0;
+    for (int i = 0; i < length; ++i) {
+      if (byteAt(i) != ' ') {
+        value = value * 10 + digitAt(i);
+        ++digitCount;
+      }
+    }
+    if (digitCount == 0) {
+      throw new NumberFormatException("No digits in line: " + this);
+    }
+    return value;
+  }
+
+  private int digitAt(int i) throws NumberFormatException {
+    int digit = byteAt(i) - '0';
+    if (digit < 0 || digit > 9) {
+      throw new NumberFormatException("Invalid digit " + charAt(i) + " in line: " + this);
+    }
+    return digit;
+  }
+
+  @Override
+  public String toString() {
+    byte[] bytes = new byte[length];
+    buffer.get(offset, bytes);
+    return new String(bytes, StandardCharsets.US_ASCII);
+  }
+}
@@ -1,17 +1,108 @@
 package tools;
 
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
 /**
  * Writes log messages to the default system output (console).
+ * Messages have a level; the messages below the current level are dropped. Debug messages are
+ * disabled by default: guard their creation with {@link #isDebugEnabled()}, or pass a supplier,
+ * so that a disabled message costs nothing (not even the string concatenation).
+ * The level can be set with the system property logger.level (DEBUG, INFO or ERROR).
+ * By default, each message is printed right away. With the system property logger.async=true
+ * (or after {@link #useAsyncOutput()}), the messages are queued and printed in batches by
+ * a background thread instead; the queue is flushed when the JVM exits.
  */
 public class Logger {
+  /**
+   * The severity of a message.
+   */
+  public enum Level {
+    DEBUG, INFO, ERROR
+  }
+
+  private static volatile Level level = parseLevel(System.getProperty("logger.level"));
+  private static volatile AsyncSink asyncSink = null;
+
+  static {
+    if (Boolean.getBoolean("logger.async")) {
+      useAsyncOutput();
+    }
+  }
+
+  /**
+   * Parse the level given as a system property. A typo must not break the logging (and with it
+   * every solver), so an unknown value falls back to the default level.
+   *
+   * @param name The name of the level, case-insensitive; null for the default level
+   * @return The level
+   */
+  private static Level parseLevel(String name) {
+    if (name == null) {
+      return Level.INFO;
+    }
+    try {
+      return Level.valueOf(name.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      System.err.println("Unknown logger.level: " + name + ", using " + Level.INFO);
+      return Level.INFO;
+    }
+  }
+
+  public static Level getLevel() {
+    return level;
+  }
+
+  public static void setLevel(Level newLevel) {
+    level = newLevel;
+  }
+
+  /**
+   * Check whether debug messages are printed. Use it to skip building the messages.
+   *
+   * @return True if debug messages are printed
+   */
+  public static boolean isDebugEnabled() {
+    return level == Level.DEBUG;
+  }
+
+  /**
+   * Print a debug message to the system output (console), if debug messages are enabled.
+   *
+   * @param message The message to print.
+   */
+  public static void debug(String message) {
+    if (isDebugEnabled()) {
+      print(message, false);
+    }
+  }
+
+  /**
+   * Print a debug message to the system output (console), if debug messages are enabled.
+   * The message is created only when it is going to be printed.
+   *
+   * @param messageSupplier Creates the message to print.
+   */
+  public static void debug(Supplier<String> messageSupplier) {
+    if (isDebugEnabled()) {
+      print(messageSupplier.get(), false);
+    }
+  }
+
   /**
    * Print an information message to the system output (console).
    *
    * @param message The message to print.
    */
   public static void info(String message) {
-    // Sorry, this still IS the easiest method to log to the console, fine for these problems ;)
-    System.out.println(message);
+    if (level != Level.ERROR) {
+      print(message, false);
+    }
   }
 
   /**
@@ -20,7 +111,119 @@ public class Logger {
    * @param message The message to print.
    */
   public static void error(String message) {
-    System.err.println(message);
+    print(message, true);
+  }
+
+  private static void print(String message, boolean isError) {
+    AsyncSink sink = asyncSink;
+    if (sink != null) {
+      sink.add(new Message(message, isError));
+    } else if (isError) {
+      System.err.println(message);
+    } else {
+      // Sorry, this still IS the easiest method to log to the console, fine for these problems ;)
+      System.out.println(message);
+    }
+  }
+
+  /**
+   * Print the messages from a background thread from now on. The thread writes all the queued
+   * messages at once, so a burst of messages costs one write instead of one write per message.
+   * The order of the messages is kept.
+   */
+  public static synchronized void useAsyncOutput() {
+    if (asyncSink == null) {
+      AsyncSink sink = new AsyncSink();
+      sink.start();
+      Runtime.getRuntime().addShutdownHook(new Thread(Logger::flush));
+      asyncSink = sink;
+    }
+  }
+
+  /**
+   * Wait until all the queued messages have been printed. Does nothing when the messages are
+   * printed right away.
+   */
+  public static void flush() {
+    AsyncSink sink = asyncSink;
+    if (sink != null) {
+      sink.flush();
+    }
+  }
+
+  /**
+   * A queued message. A message with a latch is not printed, it is a flush request.
+   */
+  private record Message(String text, boolean isError, CountDownLatch flushed) {
+    Message(String text, boolean isError) {
+      this(text, isError, null);
+    }
+  }
+
+  /**
+   * A daemon thread which prints the queued messages in batches.
+   */
+  private static class AsyncSink extends Thread {
+    private final BlockingQueue<Message> queue = new LinkedBlockingQueue<>();
+
+    AsyncSink() {
+      super("logger");
+      setDaemon(true);
+    }
+
+    void add(Message message) {
+      queue.add(message);
+    }
+
+    void flush() {
+      CountDownLatch flushed = new CountDownLatch(1);
+      queue.add(new Message(null, false, flushed));
+      try {
+        flushed.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public void run() {
+      List<Message> batch = new ArrayList<>();
+      StringBuilder out = new StringBuilder();
+      StringBuilder err = new StringBuilder();
+      while (true) {
+        try {
+          batch.add(queue.take());
+        } catch (InterruptedException e) {
+          return;
+        }
+        queue.drainTo(batch);
+        for (Message message : batch) {
+          if (message.flushed() != null) {
+            write(out, System.out);
+            write(err, System.err);
+            message.flushed().countDown();
+          } else if (message.isError()) {
+            // Keep the order of the messages between the two streams
+            write(out, System.out);
+            err.append(message.text()).append(System.lineSeparator());
+          } else {
+            write(err, System.err);
+            out.append(message.text()).append(System.lineSeparator());
+          }
+        }
+        batch.clear();
+        write(out, System.out);
+        write(err, System.err);
+      }
+    }
+
+    private static void write(StringBuilder text, PrintStream stream) {
+      if (!text.isEmpty()) {
+        stream.print(text);
+        stream.flush();
+        text.setLength(0);
+      }
+    }
   }
 
   // Not supposed to create an instance of this!
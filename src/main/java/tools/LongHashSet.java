@@ -0,0 +1,170 @@
+package tools;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of long values, stored without boxing in an open-addressing hash table
+ * (linear probing). Meant for hot loops, for example tracking packed positions
+ * (see {@link PackedVector}).
+ */
+public class LongHashSet {
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private long[] slots;
+  private int size = 0;
+  private boolean containsEmptyMarker = false;
+
+  /**
+   * Create an empty set.
+   */
+  public LongHashSet() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Create an empty set.
+   *
+   * @param expectedSize The number of values which can be stored before the table must grow
+   */
+  public LongHashSet(int expectedSize) {
+    slots = new long[LongHashing.tableSizeFor(expectedSize)];
+    Arrays.fill(slots, EMPTY);
+  }
+
+  /**
+   * Add a value to the set.
+   *
+   * @param value The value to add
+   * @return True if the value was added, false if it was already in the set
+   */
+  public boolean add(long value) {
+    if (value == EMPTY) {
+      boolean added = !containsEmptyMarker;
+      containsEmptyMarker = true;
+      return added;
+    }
+    int mask = slots.length - 1;
+    int i = LongHashing.hash(value) & mask;
+    while (slots[i] != EMPTY) {
+      if (slots[i] == value) {
+        return false;
+      }
+      i = (i + 1) & mask;
+    }
+    slots[i] = value;
+    size++;
+    if (LongHashing.isTooFull(size, slots.length)) {
+      grow();
+    }
+    return true;
+  }
+
+  /**
+   * Check whether the set contains a value.
+   *
+   * @param value The value to look for
+   * @return True if the value is in the set
+   */
+  public boolean contains(long value) {
+    if (value == EMPTY) {
+      return containsEmptyMarker;
+    }
+    int mask = slots.length - 1;
+    int i = LongHashing.hash(value) & mask;
+    while (slots[i] != EMPTY) {
+      if (slots[i] == value) {
+        return true;
+      }
+      i = (i + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * Remove a value from the set. The following values in the same probe sequence are shifted
+   * back, so that no tombstones are needed.
+   *
+   * @param value The value to remove
+   * @return True if the value was removed, false if it was not in the set
+   */
+  public boolean remove(long value) {
+    if (value == EMPTY) {
+      boolean removed = containsEmptyMarker;
+      containsEmptyMarker = false;
+      return removed;
+    }
+    int mask = slots.length - 1;
+    int i = LongHashing.hash(value) & mask;
+    while (slots[i] != value) {
+      if (slots[i] == EMPTY) {
+        return false;
+      }
+      i = (i + 1) & mask;
+    }
+    int gap = i;
+    int j = (i + 1) & mask;
+    while (slots[j] != EMPTY) {
+      int home = LongHashing.hash(slots[j]) & mask;
+      // The value at j may move into the gap only if its home slot is not in (gap, j]
+      if (((j - home) & mask) >= ((j - gap) & mask)) {
+        slots[gap] = slots[j];
+        gap = j;
+      }
+      j = (j + 1) & mask;
+    }
+    slots[gap] = EMPTY;
+    size--;
+    return true;
+  }
+
+  private void grow() {
+    long[] oldSlots = slots;
+    slots = new long[oldSlots.length * 2];
+    Arrays.fill(slots, EMPTY);
+    int mask = slots.length - 1;
+    for (long value : oldSlots) {
+      if (value != EMPTY) {
+        int i = LongHashing.hash(value) & mask;
+        while (slots[i] != EMPTY) {
+          i = (i + 1) & mask;
+        }
+        slots[i] = value;
+      }
+    }
+  }
+
+  public int size() {
+    return size + (containsEmptyMarker ? 1 : 0);
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Remove all the values, keep the allocated table.
+   */
+  public void clear() {
+    Arrays.fill(slots, EMPTY);
+    size = 0;
+    containsEmptyMarker = false;
+  }
+
+  /**
+   * Call the action for each value in the set, in no particular order.
+   *
+   * @param action The action to call
+   */
+  public void forEach(LongConsumer action) {
+    if (containsEmptyMarker) {
+      action.accept(EMPTY);
+    }
+    for (long value : slots) {
+      if (value != EMPTY) {
+        action.accept(value);
+      }
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package tools;
+
+/**
+ * Helpers shared by the open-addressing hash tables with long keys.
+ */
+class LongHashing {
+  private static final int MAX_LOAD_PERCENT = 60;
+  private static final int MAX_TABLE_SIZE = 1 << 30;
+
+  /**
+   * Not allowed to instantiate the class.
+   */
+  private LongHashing() {
+  }
+
+  /**
+   * Mix the bits of the key, so that keys differing only in the upper bits (for example, packed
+   * positions on the same column) land in different slots.
+   *
+   * @param key The key to hash
+   * @return The hash value
+   */
+  static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * Find the table size (a power of two) which fits the expected number of entries.
+   *
+   * @param expectedSize The expected number of entries
+   * @return The table size
+   */
+  static int tableSizeFor(int expectedSize) {
+    long minSize = Math.max(2L, (long) expectedSize * 100 / MAX_LOAD_PERCENT + 1);
+    int size = 2;
+    while (size < minSize && size < MAX_TABLE_SIZE) {
+      size <<= 1;
+    }
+    return size;
+  }
+
+  /**
+   * Check whether the table must grow.
+   *
+   * @param size      The number of stored entries
+   * @param tableSize The number of slots in the table
+   * @return True when the load factor is exceeded
+   */
+  static boolean isTooFull(int size, int tableSize) {
+    return (long) size * 100 > (long) tableSize * MAX_LOAD_PERCENT;
+  }
+}
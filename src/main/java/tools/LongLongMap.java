@@ -0,0 +1,135 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * A map from long keys to long values, stored without boxing in an open-addressing hash table
+ * (linear probing). Meant for hot loops, for example mapping packed positions
+ * (see {@link PackedVector}) to distances.
+ */
+public class LongLongMap {
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private long[] keys;
+  private long[] values;
+  private int size = 0;
+  private boolean containsEmptyMarker = false;
+  private long emptyMarkerValue;
+
+  /**
+   * Create an empty map.
+   */
+  public LongLongMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Create an empty map.
+   *
+   * @param expectedSize The number of entries which can be stored before the table must grow
+   */
+  public LongLongMap(int expectedSize) {
+    int capacity = LongHashing.tableSizeFor(expectedSize);
+    keys = new long[capacity];
+    values = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+  }
+
+  /**
+   * Store a value for a key, replace the old value if there is one.
+   *
+   * @param key   The key
+   * @param value The value
+   */
+  public void put(long key, long value) {
+    if (key == EMPTY) {
+      containsEmptyMarker = true;
+      emptyMarkerValue = value;
+      return;
+    }
+    int i = findSlot(key);
+    if (keys[i] == EMPTY) {
+      keys[i] = key;
+      values[i] = value;
+      size++;
+      if (LongHashing.isTooFull(size, keys.length)) {
+        grow();
+      }
+    } else {
+      values[i] = value;
+    }
+  }
+
+  /**
+   * Get the value stored for a key.
+   *
+   * @param key          The key
+   * @param defaultValue The value to return when the key is not found
+   * @return The stored value, or defaultValue when there is no value for the key
+   */
+  public long get(long key, long defaultValue) {
+    if (key == EMPTY) {
+      return containsEmptyMarker ? emptyMarkerValue : defaultValue;
+    }
+    int i = findSlot(key);
+    return keys[i] != EMPTY ? values[i] : defaultValue;
+  }
+
+  /**
+   * Check whether a value is stored for the key.
+   *
+   * @param key The key
+   * @return True if the map contains the key
+   */
+  public boolean containsKey(long key) {
+    if (key == EMPTY) {
+      return containsEmptyMarker;
+    }
+    return keys[findSlot(key)] != EMPTY;
+  }
+
+  /**
+   * Find the slot where the key is stored, or the empty slot where it should be stored.
+   */
+  private int findSlot(long key) {
+    int mask = keys.length - 1;
+    int i = LongHashing.hash(key) & mask;
+    while (keys[i] != EMPTY && keys[i] != key) {
+      i = (i + 1) & mask;
+    }
+    return i;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    keys = new long[oldKeys.length * 2];
+    values = new long[oldKeys.length * 2];
+    Arrays.fill(keys, EMPTY);
+    for (int j = 0; j < oldKeys.length; ++j) {
+      if (oldKeys[j] != EMPTY) {
+        int i = findSlot(oldKeys[j]);
+        keys[i] = oldKeys[j];
+        values[i] = oldValues[j];
+      }
+    }
+  }
+
+  public int size() {
+    return size + (containsEmptyMarker ? 1 : 0);
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Remove all the entries, keep the allocated table.
+   */
+  public void clear() {
+    Arrays.fill(keys, EMPTY);
+    size = 0;
+    containsEmptyMarker = false;
+  }
+}
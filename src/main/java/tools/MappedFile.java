@@ -0,0 +1,130 @@
+package tools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only text file, mapped into memory as a whole. Lines are returned as slices over the
+ * mapped bytes: no bytes are copied and no strings are created while reading.
+ * Files larger than 2GB are not supported (a single mapping is used).
+ */
+public class MappedFile {
+  private static final byte NEWLINE = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+
+  private final MappedByteBuffer buffer;
+  private final int size;
+  private int position = 0;
+
+  /**
+   * Map a file into memory.
+   *
+   * @param filename The name of the file
+   * @throws IOException When the file can't be opened, or it is too large to be mapped
+   */
+  public MappedFile(String filename) throws IOException {
+    try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      if (fileSize > Integer.MAX_VALUE) {
+        throw new IOException("File too large to be mapped: " + filename);
+      }
+      size = (int) fileSize;
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  /**
+   * Read the next line. Both "\n" and "\r\n" are accepted as line separators.
+   *
+   * @return A slice over the line (without the separator), null when end of file is reached
+   */
+  public LineSlice readLine() {
+    if (position >= size) {
+      return null;
+    }
+    int start = position;
+    int end = start;
+    while (end < size && buffer.get(end) != NEWLINE) {
+      ++end;
+    }
+    position = end < size ? end + 1 : end;
+    if (end > start && buffer.get(end - 1) == CARRIAGE_RETURN) {
+      --end;
+    }
+    return new LineSlice(buffer, start, end - start);
+  }
+
+  /**
+   * Read the next line without advancing the reading position.
+   *
+   * @return A slice over the line (without the separator), null when end of file is reached
+   */
+  public LineSlice peekLine() {
+    int currentPosition = position;
+    LineSlice line = readLine();
+    position = currentPosition;
+    return line;
+  }
+
+  /**
+   * Read one byte from the file.
+   *
+   * @return The byte, as an unsigned value; or -1 when end of file is reached
+   */
+  public int readByte() {
+    return position < size ? buffer.get(position++) & 0xFF : -1;
+  }
+
+  /**
+   * Check whether end of file has been reached.
+   *
+   * @return True when all the bytes have been read, false otherwise
+   */
+  public boolean isEndOfFile() {
+    return position >= size;
+  }
+
+  /**
+   * Get the current reading position.
+   *
+   * @return The offset of the next byte to be read
+   */
+  public int getPosition() {
+    return position;
+  }
+
+  /**
+   * Move the reading position.
+   *
+   * @param position The offset of the next byte to be read
+   * @throws IllegalArgumentException When the position is outside the file
+   */
+  public void setPosition(int position) throws IllegalArgumentException {
+    if (position < 0 || position > size) {
+      throw new IllegalArgumentException("Position outside the file: " + position);
+    }
+    this.position = position;
+  }
+
+  /**
+   * Get the mapped bytes. The buffer is shared, only absolute get-methods should be used on it.
+   *
+   * @return The buffer holding the whole file
+   */
+  public ByteBuffer getBuffer() {
+    return buffer;
+  }
+
+  /**
+   * Get the size of the file.
+   *
+   * @return The number of bytes in the file
+   */
+  public int getSize() {
+    return size;
+  }
+}
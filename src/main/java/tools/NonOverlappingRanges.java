@@ -1,14 +1,22 @@
 package tools;
 
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 /**
  * A collection of non-overlapping integer ranges.
+ * The ranges are kept in a balanced search tree, ordered by their start (each start maps to
+ * the end of the range), so adding a range and looking up the range covering a value take
+ * logarithmic time. The ranges are indexed in ascending order; indexed access uses a sorted
+ * snapshot which is rebuilt only after the collection has changed.
  */
 public class NonOverlappingRanges {
-  private final List<IntegerRange> ranges = new LinkedList<>();
+  private final NavigableMap<Long, Long> ranges = new TreeMap<>();
+  private long totalLength = 0;
+  private long[] sortedStarts;
+  private long[] sortedEnds;
 
   /**
    * Add a new range. Merge ranges if necessary.
@@ -16,88 +24,54 @@ public class NonOverlappingRanges {
    * @param range The range to add.
    */
   public void add(IntegerRange range) {
-    if (ranges.isEmpty()) {
-      ranges.add(range);
-    } else {
-      removeTotallyCovered(range);
-      mergeWithExisting(range);
+    long start = range.getStart();
+    long end = range.getEnd();
+    // A range starting before r may overlap with its start, extend r to cover it
+    Map.Entry<Long, Long> s = ranges.floorEntry(start);
+    if (s != null && s.getValue() >= start) {
+      if (s.getValue() >= end) {
+        // r is fully within s and "gets swallowed by s"
+        return;
+      }
+      start = s.getKey();
+    }
+    // Remove all ranges starting within r, r will cover them (extend it to the last one's end)
+    Iterator<Map.Entry<Long, Long>> it = ranges.subMap(start, true, end, true)
+        .entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<Long, Long> covered = it.next();
+      end = Math.max(end, covered.getValue());
+      totalLength -= getLength(covered);
+      it.remove();
     }
+    put(start, end);
   }
 
-  private void removeTotallyCovered(IntegerRange range) {
-    for (int i = 0; i < ranges.size(); ++i) {
-      IntegerRange existingRange = ranges.get(i);
-      if (range.containsFully(existingRange)) {
-        ranges.remove(i);
-        i--;
-      }
-    }
+  private void put(long start, long end) {
+    ranges.put(start, end);
+    totalLength += end - start + 1;
+    sortedStarts = null;
   }
 
-  /**
-   * Merge the new range r with existing ranges. Assume that no range will overlap with r fully.
-   * Find ranges s and e first:
-   * s: where the new range starts
-   * e: where the new range ends
-   * Three cases possible:
-   * a) If both s and e are found, replace them with a new range from s.start until e.end
-   * b) If one of s or e exists, merge r with it
-   * c) If neither s nor e are found, simply add the new range r
-   *
-   * @param r The new range to merge with existing ones.
-   */
-  private void mergeWithExisting(IntegerRange r) {
-    IntegerRange s = findStartRangeFor(r);
-    IntegerRange e = findEndRangeFor(r);
-    if (s != null && e != null) {
-      // If s == e, this means that r is fully within s and "gets swallowed by s"
-      if (s != e) {
-        s.setEnd(e.getEnd());
-        ranges.remove(e);
-      }
-    } else if (s != null) {
-      s.setEnd(r.getEnd());
-    } else if (e != null) {
-      e.setStart(r.getStart());
-    } else {
-      ranges.add(r);
-    }
+  private void remove(Map.Entry<Long, Long> range) {
+    ranges.remove(range.getKey());
+    totalLength -= getLength(range);
+    sortedStarts = null;
   }
 
-  /**
-   * Find an existing range which covers r.start .
-   *
-   * @param r The range to check the start for
-   * @return A range which covers the start of r, or null if none found
-   */
-  private IntegerRange findStartRangeFor(IntegerRange r) {
-    IntegerRange startRange = null;
-    Iterator<IntegerRange> it = ranges.iterator();
-    while (it.hasNext() && startRange == null) {
-      IntegerRange range = it.next();
-      if (r.startsWithin(range)) {
-        startRange = range;
-      }
-    }
-    return startRange;
+  private static long getLength(Map.Entry<Long, Long> range) {
+    return range.getValue() - range.getKey() + 1;
   }
 
   /**
-   * Find an existing range which covers r.end .
+   * Find the stored range which covers the value.
    *
-   * @param r The range to check the end for
-   * @return A range which covers the end of r, or null if none found
+   * @param v The value to look for
+   * @return The range (start mapped to the end) covering v, or null if none found
    */
-  private IntegerRange findEndRangeFor(IntegerRange r) {
-    IntegerRange endRange = null;
-    Iterator<IntegerRange> it = ranges.iterator();
-    while (it.hasNext() && endRange == null) {
-      IntegerRange range = it.next();
-      if (r.endsWithin(range)) {
-        endRange = range;
-      }
-    }
-    return endRange;
+  private Map.Entry<Long, Long> findRangeCovering(long v) {
+    Map.Entry<Long, Long> range = ranges.floorEntry(v);
+    return range != null && range.getValue() >= v ? range : null;
   }
 
   /**
@@ -106,21 +80,14 @@ public class NonOverlappingRanges {
    * @param v The value to remove
    */
   public void removeSingleValue(long v) {
-    boolean found = false;
-    Iterator<IntegerRange> it = ranges.iterator();
-    while (it.hasNext() && !found) {
-      IntegerRange r = it.next();
-      if (r.containsValue(v)) {
-        found = true;
-        if (r.getStart() == v) {
-          r.setStart(v + 1);
-        } else if (r.getEnd() == v) {
-          r.setEnd(v - 1);
-        } else if (r.containsValue(v)) {
-          long end = r.getEnd();
-          r.setEnd(v - 1);
-          ranges.add(new IntegerRange(v + 1, end));
-        }
+    Map.Entry<Long, Long> r = findRangeCovering(v);
+    if (r != null) {
+      remove(r);
+      if (r.getKey() < v) {
+        put(r.getKey(), v - 1);
+      }
+      if (r.getValue() > v) {
+        put(v + 1, r.getValue());
       }
     }
   }
@@ -135,14 +102,29 @@ public class NonOverlappingRanges {
   }
 
   /**
-   * Get the range stored at specific index.
+   * Get the range stored at specific index, the ranges are ordered by their start.
+   * Note: a new range object is returned, changing it does not change this collection.
    *
    * @param index The index of the range, indexing starts at zero.
    * @return The integer range
    * @throws ArrayIndexOutOfBoundsException When index is invalid
    */
   public IntegerRange getRange(int index) {
-    return ranges.get(index);
+    if (sortedStarts == null) {
+      createSortedSnapshot();
+    }
+    return new IntegerRange(sortedStarts[index], sortedEnds[index]);
+  }
+
+  private void createSortedSnapshot() {
+    sortedStarts = new long[ranges.size()];
+    sortedEnds = new long[ranges.size()];
+    int i = 0;
+    for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+      sortedStarts[i] = range.getKey();
+      sortedEnds[i] = range.getValue();
+      i++;
+    }
   }
 
   /**
@@ -152,31 +134,25 @@ public class NonOverlappingRanges {
    * @return True if any of the stored ranges covers r fully, false otherwise.
    */
   public boolean containsRangeFully(IntegerRange r) {
-    boolean covered = false;
-    Iterator<IntegerRange> it = ranges.iterator();
-    while (it.hasNext() && !covered) {
-      IntegerRange range = it.next();
-      covered = range.containsFully(r);
-    }
-    return covered;
+    Map.Entry<Long, Long> range = findRangeCovering(r.getStart());
+    return range != null && range.getValue() >= r.getEnd();
   }
 
   /**
-   * Check the stored ranges, find if there is a gap which fits within range r.
+   * Check the stored ranges, find the first value within range r which is not covered.
    *
    * @param r The range of values to check
    * @return The gap value or null if no gaps are found
    */
   public Long findGapInRange(IntegerRange r) {
-    if (containsRangeFully(r)) {
-      return null;
-    }
-
-    if (ranges.size() != 2) {
-      throw new IllegalStateException("Gap search for more than two ranges is not implemented...");
+    long gap = r.getStart();
+    Map.Entry<Long, Long> range = findRangeCovering(gap);
+    // Adjacent ranges are not merged, so the value after a range may start the next one
+    while (range != null && range.getValue() < r.getEnd()) {
+      gap = range.getValue() + 1;
+      range = findRangeCovering(gap);
     }
-
-    return Math.min(ranges.get(0).getEnd(), ranges.get(1).getEnd()) + 1;
+    return range == null ? gap : null;
   }
 
   /**
@@ -185,11 +161,7 @@ public class NonOverlappingRanges {
    * @return The total length of all ranges.
    */
   public long getTotalLength() {
-    long length = 0;
-    for (IntegerRange range : ranges) {
-      length += range.getLength();
-    }
-    return length;
+    return totalLength;
   }
 
   /**
@@ -198,17 +170,17 @@ public class NonOverlappingRanges {
    * @return True when there are no ranges
    */
   public boolean isEmpty() {
-    return getTotalLength() == 0;
+    return ranges.isEmpty();
   }
 
   /**
-   * Add all the given ranges to this one. Note: copies of the ranges will be added!
+   * Add all the given ranges to this one.
    *
    * @param r The non overlapping ranges to add to this one.
    */
   public void addAll(NonOverlappingRanges r) {
-    for (IntegerRange range : r.ranges) {
-      add(new IntegerRange(range.getStart(), range.getEnd()));
+    for (Map.Entry<Long, Long> range : r.ranges.entrySet()) {
+      add(new IntegerRange(range.getKey(), range.getValue()));
     }
   }
 
@@ -219,7 +191,8 @@ public class NonOverlappingRanges {
    */
   public NonOverlappingRanges createCopy() {
     NonOverlappingRanges r = new NonOverlappingRanges();
-    r.addAll(this);
+    r.ranges.putAll(ranges);
+    r.totalLength = totalLength;
     return r;
   }
 
@@ -229,10 +202,15 @@ public class NonOverlappingRanges {
    * @param n The threshold
    */
   public void removeAllLowerThan(long n) {
-    removeTotallyCovered(new IntegerRange(Long.MIN_VALUE, n - 1));
-    IntegerRange partlyCoveringRange = findStartRangeFor(new IntegerRange(n - 1, Long.MAX_VALUE));
-    if (partlyCoveringRange != null) {
-      partlyCoveringRange.setStart(n);
+    Map.Entry<Long, Long> partlyCoveringRange = ranges.lowerEntry(n);
+    NavigableMap<Long, Long> lower = ranges.headMap(n, false);
+    for (Map.Entry<Long, Long> range : lower.entrySet()) {
+      totalLength -= getLength(range);
+    }
+    lower.clear();
+    sortedStarts = null;
+    if (partlyCoveringRange != null && partlyCoveringRange.getValue() >= n) {
+      put(n, partlyCoveringRange.getValue());
     }
   }
 
@@ -242,18 +220,24 @@ public class NonOverlappingRanges {
    * @param n The threshold
    */
   public void removeAllGreaterThan(long n) {
-    removeTotallyCovered(new IntegerRange(n + 1, Long.MAX_VALUE));
-    IntegerRange partlyCoveringRange = findEndRangeFor(new IntegerRange(Long.MIN_VALUE, n - 1));
-    if (partlyCoveringRange != null) {
-      partlyCoveringRange.setEnd(n);
+    NavigableMap<Long, Long> greater = ranges.tailMap(n, false);
+    for (Map.Entry<Long, Long> range : greater.entrySet()) {
+      totalLength -= getLength(range);
+    }
+    greater.clear();
+    sortedStarts = null;
+    Map.Entry<Long, Long> partlyCoveringRange = ranges.floorEntry(n);
+    if (partlyCoveringRange != null && partlyCoveringRange.getValue() > n) {
+      remove(partlyCoveringRange);
+      put(partlyCoveringRange.getKey(), n);
     }
   }
 
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
-    for (IntegerRange range : ranges) {
-      sb.append(range);
+    for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+      sb.append(new IntegerRange(range.getKey(), range.getValue()));
       sb.append(" ");
     }
     return sb.toString();
@@ -0,0 +1,97 @@
+package tools;
+
+/**
+ * A two-dimensional position packed into a single long value: the y-coordinate (row) in the
+ * upper 32 bits, the x-coordinate (column) in the lower 32 bits. Packed positions can be used
+ * in hot loops and primitive collections, where allocating a {@link Vector} for each step
+ * would be too expensive.
+ */
+public class PackedVector {
+  private static final long LOWER_BITS = 0xFFFFFFFFL;
+
+  /**
+   * Not allowed to instantiate the class.
+   */
+  private PackedVector() {
+  }
+
+  /**
+   * Pack a position.
+   *
+   * @param x The x-coordinate (column)
+   * @param y The y-coordinate (row)
+   * @return The packed position
+   */
+  public static long of(int x, int y) {
+    return ((long) y << 32) | (x & LOWER_BITS);
+  }
+
+  /**
+   * Pack a vector.
+   *
+   * @param v The vector to pack
+   * @return The packed position
+   */
+  public static long of(Vector v) {
+    return of(v.x(), v.y());
+  }
+
+  /**
+   * Unpack a position into a vector.
+   *
+   * @param packed The packed position
+   * @return The position as a vector
+   */
+  public static Vector toVector(long packed) {
+    return new Vector(x(packed), y(packed));
+  }
+
+  public static int x(long packed) {
+    return (int) packed;
+  }
+
+  public static int y(long packed) {
+    return (int) (packed >> 32);
+  }
+
+  public static int row(long packed) {
+    return y(packed);
+  }
+
+  public static int column(long packed) {
+    return x(packed);
+  }
+
+  /**
+   * Add a distance to a packed position.
+   *
+   * @param packed The packed position
+   * @param x      The distance to add on the x-axis
+   * @param y      The distance to add on the y-axis
+   * @return The new packed position
+   */
+  public static long plus(long packed, int x, int y) {
+    return of(x(packed) + x, y(packed) + y);
+  }
+
+  /**
+   * Move one unit in the specified direction.
+   *
+   * @param packed The packed position
+   * @param d      The direction in which to move
+   * @return The new packed position
+   */
+  public static long step(long packed, Direction d) {
+    return plus(packed, d.getHorizontalGradient(), d.getVerticalGradient());
+  }
+
+  /**
+   * Get a readable representation of a packed position, for debugging.
+   *
+   * @param packed The packed position
+   * @return The position formatted in the same way as {@link Vector#toString()}
+   */
+  public static String toString(long packed) {
+    return "(" + x(packed) + "," + y(packed) + ")";
+  }
+}
@@ -0,0 +1,235 @@
+package tools;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToLongFunction;
+
+/**
+ * Processes the lines of a memory-mapped input file in parallel. The remaining part of the file
+ * is split recursively into regions on line boundaries (fork-join), each region is parsed on its
+ * own thread and the partial results are combined.
+ * Same as {@link InputFile#readLinesUntilEmptyLine()}, the processing stops at the first empty
+ * line (or at the end of the file), and the input file continues after the empty line.
+ * The line function is called from several threads at once, it must be thread-safe.
+ * Files which can't be mapped (compressed files) are processed sequentially, in one thread.
+ */
+public class ParallelLineReducer {
+  /**
+   * Regions smaller than this (in bytes) are not split further.
+   */
+  private static final int MIN_REGION_SIZE = 1 << 16;
+  private static final int NO_EMPTY_LINE = -1;
+
+  private final InputFile inputFile;
+  private final MappedFile mappedFile;
+  private final ByteBuffer buffer;
+  private final int parallelism;
+
+  /**
+   * Create a reducer using all the available processors.
+   *
+   * @param inputFile The input file, should be opened with {@link InputFile#openMapped(String)}
+   */
+  public ParallelLineReducer(InputFile inputFile) {
+    this(inputFile, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create a reducer.
+   *
+   * @param inputFile   The input file, should be opened with {@link InputFile#openMapped(String)}
+   * @param parallelism The number of threads to use
+   */
+  public ParallelLineReducer(InputFile inputFile, int parallelism) {
+    this.inputFile = inputFile;
+    this.mappedFile = inputFile.isMapped() ? inputFile.getMappedFile() : null;
+    this.buffer = mappedFile != null ? mappedFile.getBuffer() : null;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Apply a function to each line, sum the results.
+   *
+   * @param lineFunction The function to apply to each line
+   * @return The sum of the function values for all the lines
+   */
+  public long sum(ToLongFunction<LineSlice> lineFunction) {
+    return process(lineFunction, false).sum;
+  }
+
+  /**
+   * Apply a function to each line, collect the results in the order of the lines.
+   *
+   * @param lineFunction The function to apply to each line
+   * @return The function values, one for each line
+   */
+  public long[] map(ToLongFunction<LineSlice> lineFunction) {
+    RegionResult result = process(lineFunction, true);
+    GrowableLongArray values = new GrowableLongArray(Math.max(1, result.valueCount()));
+    for (GrowableLongArray regionValues : result.values) {
+      long[] v = regionValues.getBackingArray();
+      for (int i = 0; i < regionValues.size(); ++i) {
+        values.add(v[i]);
+      }
+    }
+    return values.toArray();
+  }
+
+  private RegionResult process(ToLongFunction<LineSlice> lineFunction, boolean collectValues) {
+    if (mappedFile == null) {
+      return processSequentially(lineFunction, collectValues);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    RegionResult result;
+    try {
+      result = pool.invoke(new RegionTask(mappedFile.getPosition(), mappedFile.getSize(),
+          lineFunction, collectValues));
+    } finally {
+      pool.shutdown();
+    }
+
+    if (result.emptyLinePosition != NO_EMPTY_LINE) {
+      mappedFile.setPosition(findNextLineStart(result.emptyLinePosition, mappedFile.getSize()));
+    } else {
+      mappedFile.setPosition(mappedFile.getSize());
+      inputFile.markEndOfFile();
+    }
+    return result;
+  }
+
+  private RegionResult processSequentially(ToLongFunction<LineSlice> lineFunction,
+                                           boolean collectValues) {
+    long sum = 0;
+    GrowableLongArray values = collectValues ? new GrowableLongArray() : null;
+    LineSlice line = inputFile.readLineSlice();
+    while (line != null && !line.isEmpty()) {
+      long value = lineFunction.applyAsLong(line);
+      sum += value;
+      if (values != null) {
+        values.add(value);
+      }
+      line = inputFile.readLineSlice();
+    }
+    return new RegionResult(sum, values != null ? List.of(values) : null, NO_EMPTY_LINE);
+  }
+
+  /**
+   * Find the start of the line following the given position.
+   *
+   * @param position The position to search from
+   * @param end      The end of the searched region
+   * @return The position after the next newline, or end if no newline is found
+   */
+  private int findNextLineStart(int position, int end) {
+    while (position < end && buffer.get(position) != '\n') {
+      ++position;
+    }
+    return position < end ? position + 1 : end;
+  }
+
+  /**
+   * The result of processing one region of the file.
+   *
+   * @param sum               The sum of the function values in the region
+   * @param values            The function values in the region, null when not collected
+   * @param emptyLinePosition The position of the first empty line in the region, or
+   *                          NO_EMPTY_LINE if the region does not contain one
+   */
+  private record RegionResult(long sum, List<GrowableLongArray> values, int emptyLinePosition) {
+    /**
+     * Combine the results of two adjacent regions. Whatever follows an empty line is ignored.
+     */
+    RegionResult combineWith(RegionResult next) {
+      if (emptyLinePosition != NO_EMPTY_LINE) {
+        return this;
+      }
+      List<GrowableLongArray> combinedValues = null;
+      if (values != null) {
+        combinedValues = new ArrayList<>(values);
+        combinedValues.addAll(next.values);
+      }
+      return new RegionResult(sum + next.sum, combinedValues, next.emptyLinePosition);
+    }
+
+    int valueCount() {
+      return values.stream().mapToInt(GrowableLongArray::size).sum();
+    }
+  }
+
+  /**
+   * Processes a region of the file: either splits it in two halves (on a line boundary),
+   * or processes all the lines in it directly.
+   */
+  private class RegionTask extends RecursiveTask<RegionResult> {
+    private static final long serialVersionUID = 1L;
+
+    private final int start;
+    private final int end;
+    private final ToLongFunction<LineSlice> lineFunction;
+    private final boolean collectValues;
+
+    /**
+     * Create a task for a region.
+     *
+     * @param start         Position of the first byte, must be at the start of a line
+     * @param end           Position after the last byte, must be at the start of a line or
+     *                      at the end of the file
+     * @param lineFunction  The function to apply to each line
+     * @param collectValues When true, the function values are collected, otherwise only summed
+     */
+    RegionTask(int start, int end, ToLongFunction<LineSlice> lineFunction,
+               boolean collectValues) {
+      this.start = start;
+      this.end = end;
+      this.lineFunction = lineFunction;
+      this.collectValues = collectValues;
+    }
+
+    @Override
+    protected RegionResult compute() {
+      if (end - start > MIN_REGION_SIZE) {
+        int middle = findNextLineStart(start + (end - start) / 2, end);
+        if (middle < end) {
+          RegionTask first = new RegionTask(start, middle, lineFunction, collectValues);
+          RegionTask second = new RegionTask(middle, end, lineFunction, collectValues);
+          first.fork();
+          RegionResult secondResult = second.compute();
+          return first.join().combineWith(secondResult);
+        }
+      }
+      return processLines();
+    }
+
+    private RegionResult processLines() {
+      long sum = 0;
+      GrowableLongArray values = collectValues ? new GrowableLongArray() : null;
+      int emptyLinePosition = NO_EMPTY_LINE;
+      int position = start;
+      while (position < end && emptyLinePosition == NO_EMPTY_LINE) {
+        int lineEnd = position;
+        while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+          ++lineEnd;
+        }
+        int length = lineEnd - position;
+        if (length > 0 && buffer.get(lineEnd - 1) == '\r') {
+          --length;
+        }
+        if (length == 0) {
+          emptyLinePosition = position;
+        } else {
+          long value = lineFunction.applyAsLong(new LineSlice(buffer, position, length));
+          sum += value;
+          if (values != null) {
+            values.add(value);
+          }
+        }
+        position = lineEnd + 1;
+      }
+      return new RegionResult(sum, values != null ? List.of(values) : null, emptyLinePosition);
+    }
+  }
+}
@@ -0,0 +1,337 @@
+package tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An immutable set of integers, stored as sorted, non-overlapping, non-adjacent ranges.
+ * The ranges have the same meaning as {@link IntegerRange}: both the start and the end are
+ * included. Internally, the boundaries are stored in one sorted long array: the start of each
+ * range followed by the value right after its end (end + 1). Therefore, Long.MAX_VALUE itself
+ * can't be included in a set.
+ * The set operations are linear merges of the two boundary arrays. Because the sets never
+ * change, they can be shared freely: when the result of an operation is equal to one of the
+ * operands, the operand itself is returned, no copy is made.
+ */
+public final class RangeSet {
+  public static final RangeSet EMPTY = new RangeSet(new long[0]);
+
+  /**
+   * Sorted boundaries: boundaries[2i] is the start of range i (inclusive),
+   * boundaries[2i + 1] is the end of range i plus one (exclusive).
+   */
+  private final long[] boundaries;
+
+  private RangeSet(long[] boundaries) {
+    this.boundaries = boundaries;
+  }
+
+  /**
+   * Create a set containing a single range.
+   *
+   * @param start The start of the range (inclusive)
+   * @param end   The end of the range (inclusive)
+   * @return The set containing all the integers from start to end
+   * @throws IllegalArgumentException If start > end or end is Long.MAX_VALUE
+   */
+  public static RangeSet of(long start, long end) throws IllegalArgumentException {
+    if (start > end) {
+      throw new IllegalArgumentException("Start (" + start + ") can't be higher than end("
+          + end + ")");
+    }
+    if (end == Long.MAX_VALUE) {
+      throw new IllegalArgumentException("Range set can't contain " + Long.MAX_VALUE);
+    }
+    return new RangeSet(new long[] {start, end + 1});
+  }
+
+  /**
+   * Create a set containing a single range.
+   *
+   * @param range The range
+   * @return The set containing all the integers in the range
+   * @throws IllegalArgumentException If the range ends at Long.MAX_VALUE
+   */
+  public static RangeSet of(IntegerRange range) throws IllegalArgumentException {
+    return of(range.getStart(), range.getEnd());
+  }
+
+  /**
+   * Create a set from arbitrary ranges: they are sorted, the overlapping and adjacent ones
+   * are merged.
+   *
+   * @param ranges The ranges, in any order
+   * @return The set containing all the integers in the ranges
+   * @throws IllegalArgumentException If a range ends at Long.MAX_VALUE
+   */
+  public static RangeSet of(Collection<IntegerRange> ranges) throws IllegalArgumentException {
+    IntegerRange[] sorted = ranges.toArray(new IntegerRange[0]);
+    Arrays.sort(sorted, (a, b) -> Long.compare(a.getStart(), b.getStart()));
+    GrowableLongArray merged = new GrowableLongArray(sorted.length * 2);
+    for (IntegerRange range : sorted) {
+      if (range.getEnd() == Long.MAX_VALUE) {
+        throw new IllegalArgumentException("Range set can't contain " + Long.MAX_VALUE);
+      }
+      int size = merged.size();
+      if (size > 0 && range.getStart() <= merged.get(size - 1)) {
+        // Overlaps with or touches the previous range: extend it
+        long end = Math.max(merged.get(size - 1), range.getEnd() + 1);
+        merged.getBackingArray()[size - 1] = end;
+      } else {
+        merged.add(range.getStart());
+        merged.add(range.getEnd() + 1);
+      }
+    }
+    return merged.isEmpty() ? EMPTY : new RangeSet(merged.toArray());
+  }
+
+  /**
+   * Get all the integers which are in this set, in the other set, or in both.
+   *
+   * @param other The other set
+   * @return The union of the sets
+   */
+  public RangeSet union(RangeSet other) {
+    if (other.isEmpty() || this == other) {
+      return this;
+    }
+    if (isEmpty()) {
+      return other;
+    }
+    return merge(other, Operation.UNION);
+  }
+
+  /**
+   * Get all the integers which are in both this set and the other set.
+   *
+   * @param other The other set
+   * @return The intersection of the sets
+   */
+  public RangeSet intersection(RangeSet other) {
+    if (isEmpty() || this == other) {
+      return this;
+    }
+    if (other.isEmpty()) {
+      return other;
+    }
+    return merge(other, Operation.INTERSECTION);
+  }
+
+  /**
+   * Get all the integers which are in this set, but not in the other set.
+   *
+   * @param other The other set
+   * @return The difference of the sets
+   */
+  public RangeSet difference(RangeSet other) {
+    if (isEmpty() || other.isEmpty()) {
+      return this;
+    }
+    return merge(other, Operation.DIFFERENCE);
+  }
+
+  /**
+   * Get all the integers within the universe, which are not in this set.
+   *
+   * @param universe The range of all the integers to consider
+   * @return The complement of this set within the universe
+   * @throws IllegalArgumentException If the universe ends at Long.MAX_VALUE
+   */
+  public RangeSet complement(IntegerRange universe) throws IllegalArgumentException {
+    return of(universe).difference(this);
+  }
+
+  private enum Operation {
+    UNION, INTERSECTION, DIFFERENCE;
+
+    boolean contains(boolean inFirst, boolean inSecond) {
+      return switch (this) {
+        case UNION -> inFirst || inSecond;
+        case INTERSECTION -> inFirst && inSecond;
+        case DIFFERENCE -> inFirst && !inSecond;
+      };
+    }
+  }
+
+  /**
+   * Sweep over the boundaries of both sets in ascending order. At each boundary, one or both
+   * of the sets is entered or left; a boundary is emitted whenever the membership of the result
+   * changes. Equal boundaries are processed together, so touching ranges get merged.
+   */
+  private RangeSet merge(RangeSet other, Operation operation) {
+    long[] a = boundaries;
+    long[] b = other.boundaries;
+    long[] result = new long[a.length + b.length];
+    int resultLength = 0;
+    int i = 0;
+    int j = 0;
+    boolean inResult = false;
+    while (i < a.length || j < b.length) {
+      long x;
+      if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+        x = a[i];
+      } else {
+        x = b[j];
+      }
+      while (i < a.length && a[i] == x) {
+        i++;
+      }
+      while (j < b.length && b[j] == x) {
+        j++;
+      }
+      // An odd index means that the boundary before it was a start: we're inside a range
+      boolean contains = operation.contains((i & 1) == 1, (j & 1) == 1);
+      if (contains != inResult) {
+        result[resultLength++] = x;
+        inResult = contains;
+      }
+    }
+    return createShared(result, resultLength, other);
+  }
+
+  /**
+   * Wrap the merge result, return one of the operands instead if the result is equal to it.
+   */
+  private RangeSet createShared(long[] result, int resultLength, RangeSet other) {
+    if (resultLength == 0) {
+      return EMPTY;
+    }
+    if (Arrays.equals(boundaries, 0, boundaries.length, result, 0, resultLength)) {
+      return this;
+    }
+    if (Arrays.equals(other.boundaries, 0, other.boundaries.length, result, 0, resultLength)) {
+      return other;
+    }
+    return new RangeSet(Arrays.copyOf(result, resultLength));
+  }
+
+  /**
+   * Check whether the set contains a value, a binary search.
+   *
+   * @param v The value to check
+   * @return True if v is in the set
+   */
+  public boolean containsValue(long v) {
+    int index = Arrays.binarySearch(boundaries, v);
+    // Found at an even index: a start. Not found: the insertion point is after a start
+    return index >= 0 ? (index & 1) == 0 : ((-index - 1) & 1) == 1;
+  }
+
+  /**
+   * Check whether the set contains all the integers of the range.
+   *
+   * @param r The range to check
+   * @return True if the whole range is in the set
+   */
+  public boolean containsFully(IntegerRange r) {
+    int index = Arrays.binarySearch(boundaries, r.getStart());
+    int rangeIndex = index >= 0 ? index : -index - 2;
+    return rangeIndex >= 0 && (rangeIndex & 1) == 0 && r.getEnd() < boundaries[rangeIndex + 1];
+  }
+
+  public boolean isEmpty() {
+    return boundaries.length == 0;
+  }
+
+  /**
+   * Get the number of separate ranges in the set.
+   *
+   * @return The number of ranges
+   */
+  public int getRangeCount() {
+    return boundaries.length / 2;
+  }
+
+  /**
+   * Get a range of the set, the ranges are ordered by their start.
+   *
+   * @param index The index of the range, indexing starts at zero
+   * @return A new range object
+   * @throws ArrayIndexOutOfBoundsException When index is invalid
+   */
+  public IntegerRange getRange(int index) {
+    return new IntegerRange(boundaries[index * 2], boundaries[index * 2 + 1] - 1);
+  }
+
+  /**
+   * Get all the ranges of the set, ordered by their start.
+   *
+   * @return New range objects
+   */
+  public List<IntegerRange> getRanges() {
+    List<IntegerRange> ranges = new ArrayList<>(getRangeCount());
+    for (int i = 0; i < getRangeCount(); ++i) {
+      ranges.add(getRange(i));
+    }
+    return ranges;
+  }
+
+  /**
+   * Get the number of integers in the set.
+   *
+   * @return The sum of lengths of all the ranges
+   */
+  public long getTotalLength() {
+    long length = 0;
+    for (int i = 0; i < boundaries.length; i += 2) {
+      length += boundaries[i + 1] - boundaries[i];
+    }
+    return length;
+  }
+
+  /**
+   * Get the lowest integer in the set.
+   *
+   * @return The lowest integer
+   * @throws IllegalStateException When the set is empty
+   */
+  public long getMin() throws IllegalStateException {
+    if (isEmpty()) {
+      throw new IllegalStateException("An empty range set has no minimum");
+    }
+    return boundaries[0];
+  }
+
+  /**
+   * Get the highest integer in the set.
+   *
+   * @return The highest integer
+   * @throws IllegalStateException When the set is empty
+   */
+  public long getMax() throws IllegalStateException {
+    if (isEmpty()) {
+      throw new IllegalStateException("An empty range set has no maximum");
+    }
+    return boundaries[boundaries.length - 1] - 1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return Arrays.equals(boundaries, ((RangeSet) o).boundaries);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(boundaries);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < getRangeCount(); ++i) {
+      if (i > 0) {
+        sb.append(" ");
+      }
+      sb.append(getRange(i));
+    }
+    return sb.toString();
+  }
+}
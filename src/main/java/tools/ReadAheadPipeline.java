@@ -0,0 +1,135 @@
+package tools;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+
+/**
+ * A producer-consumer pipeline stage: a background reader thread reads lines from the source,
+ * parses them into records and puts the records in a bounded ring buffer. The consumer (solver)
+ * thread takes the records from the buffer through the iterator interface.
+ * When the buffer is full, the reader thread waits (backpressure); when it is empty, the consumer
+ * waits. This way reading and parsing overlaps with solving.
+ *
+ * @param <T> The type of the parsed records
+ */
+public class ReadAheadPipeline<T> implements Iterator<T>, AutoCloseable {
+  /**
+   * Marks the end of the record stream inside the buffer.
+   */
+  private static final Object END_MARKER = new Object();
+
+  private final BlockingQueue<Object> buffer;
+  private final Thread readerThread;
+  private volatile Throwable readerError;
+  private final long startTime;
+  private long endTime;
+  private long recordCount = 0;
+  private Object nextRecord;
+
+  /**
+   * Create the pipeline and start the reader thread.
+   *
+   * @param lines    The source of the lines, it is consumed in the reader thread only
+   * @param parser   The parser which converts each line into a record, runs in the reader thread
+   * @param capacity The maximum number of parsed records waiting in the buffer
+   */
+  public ReadAheadPipeline(Iterator<String> lines, Function<String, T> parser, int capacity) {
+    this.buffer = new ArrayBlockingQueue<>(capacity);
+    this.readerThread = new Thread(() -> readAll(lines, parser), "read-ahead");
+    this.readerThread.setDaemon(true);
+    this.startTime = System.nanoTime();
+    this.readerThread.start();
+  }
+
+  private void readAll(Iterator<String> lines, Function<String, T> parser) {
+    try {
+      while (lines.hasNext()) {
+        buffer.put(parser.apply(lines.next()));
+      }
+    } catch (InterruptedException e) {
+      // The pipeline was closed, stop reading
+      return;
+    } catch (Throwable e) {
+      // Errors too (out of memory, stack overflow in the parser): without the end marker the
+      // consumer would wait forever
+      readerError = e;
+    }
+    try {
+      buffer.put(END_MARKER);
+    } catch (InterruptedException e) {
+      // The pipeline was closed, nobody waits for the end marker
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (nextRecord == null) {
+      nextRecord = takeFromBuffer();
+    }
+    return nextRecord != END_MARKER;
+  }
+
+  private Object takeFromBuffer() {
+    Object record;
+    try {
+      record = buffer.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the next record");
+    }
+    if (record == END_MARKER) {
+      endTime = System.nanoTime();
+      // Put the marker back, so that the following calls see the end as well
+      buffer.add(END_MARKER);
+      if (readerError != null) {
+        throw new IllegalStateException("Reading failed: " + readerError.getMessage(),
+            readerError);
+      }
+    }
+    return record;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more records");
+    }
+    T record = (T) nextRecord;
+    nextRecord = null;
+    recordCount++;
+    return record;
+  }
+
+  /**
+   * Get the number of records consumed so far.
+   *
+   * @return The number of records returned by {@link #next()}
+   */
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Get the throughput of the whole pipeline: consumed records per second, measured from the
+   * start of the pipeline until the end of the records (or until now, if the end is not reached).
+   *
+   * @return The number of records processed per second
+   */
+  public double getRecordsPerSecond() {
+    long end = endTime > 0 ? endTime : System.nanoTime();
+    double seconds = (end - startTime) / 1e9;
+    return seconds > 0 ? recordCount / seconds : 0;
+  }
+
+  /**
+   * Stop the reader thread, if it is still running.
+   */
+  @Override
+  public void close() {
+    readerThread.interrupt();
+  }
+}
@@ -0,0 +1,55 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * A grid scanner comparing the characters one at a time.
+ */
+public class ScalarGridScanner extends GridScanner {
+  @Override
+  public int indexOf(char[] chars, int from, int to, char c) {
+    for (int i = from; i < to; ++i) {
+      if (chars[i] == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean isFilledWith(char[] chars, int from, int to, char c) {
+    for (int i = from; i < to; ++i) {
+      if (chars[i] != c) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void markDifferentColumns(char[] chars, int offset, int length, char c,
+                                   boolean[] differs) {
+    for (int i = 0; i < length; ++i) {
+      if (chars[offset + i] != c) {
+        differs[i] = true;
+      }
+    }
+  }
+
+  @Override
+  public int countDifferences(char[] a, int aOffset, char[] b, int bOffset, int length) {
+    int difference = 0;
+    int i = 0;
+    while (i < length) {
+      // Skip equal stretches with the intrinsic mismatch search
+      int mismatch = Arrays.mismatch(a, aOffset + i, aOffset + length, b, bOffset + i,
+          bOffset + length);
+      if (mismatch < 0) {
+        break;
+      }
+      difference++;
+      i += mismatch + 1;
+    }
+    return difference;
+  }
+}
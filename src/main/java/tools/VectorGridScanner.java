@@ -0,0 +1,92 @@
+package tools;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A grid scanner comparing several characters with one SIMD instruction, using the incubating
+ * JDK Vector API. The chars are loaded as 16-bit lanes, the remaining tail of each range is
+ * scanned one character at a time.
+ * This class is compiled only in the "simd" build profile, it must not be referenced directly:
+ * use {@link GridScanner#getInstance()}.
+ */
+public class VectorGridScanner extends GridScanner {
+  private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+  private static final int LANES = SPECIES.length();
+
+  @Override
+  public int indexOf(char[] chars, int from, int to, char c) {
+    int i = from;
+    for (; i <= to - LANES; i += LANES) {
+      VectorMask<Short> found = ShortVector.fromCharArray(SPECIES, chars, i).eq((short) c);
+      if (found.anyTrue()) {
+        return i + found.firstTrue();
+      }
+    }
+    for (; i < to; ++i) {
+      if (chars[i] == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean isFilledWith(char[] chars, int from, int to, char c) {
+    int i = from;
+    for (; i <= to - LANES; i += LANES) {
+      ShortVector v = ShortVector.fromCharArray(SPECIES, chars, i);
+      if (v.compare(VectorOperators.NE, (short) c).anyTrue()) {
+        return false;
+      }
+    }
+    for (; i < to; ++i) {
+      if (chars[i] != c) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void markDifferentColumns(char[] chars, int offset, int length, char c,
+                                   boolean[] differs) {
+    int i = 0;
+    for (; i <= length - LANES; i += LANES) {
+      ShortVector v = ShortVector.fromCharArray(SPECIES, chars, offset + i);
+      VectorMask<Short> different = v.compare(VectorOperators.NE, (short) c);
+      if (!different.anyTrue()) {
+        continue;
+      }
+      long differentLanes = different.toLong();
+      while (differentLanes != 0) {
+        differs[i + Long.numberOfTrailingZeros(differentLanes)] = true;
+        differentLanes &= differentLanes - 1;
+      }
+    }
+    for (; i < length; ++i) {
+      if (chars[offset + i] != c) {
+        differs[i] = true;
+      }
+    }
+  }
+
+  @Override
+  public int countDifferences(char[] a, int aOffset, char[] b, int bOffset, int length) {
+    int difference = 0;
+    int i = 0;
+    for (; i <= length - LANES; i += LANES) {
+      ShortVector va = ShortVector.fromCharArray(SPECIES, a, aOffset + i);
+      ShortVector vb = ShortVector.fromCharArray(SPECIES, b, bOffset + i);
+      difference += va.compare(VectorOperators.NE, vb).trueCount();
+    }
+    for (; i < length; ++i) {
+      if (a[aOffset + i] != b[bOffset + i]) {
+        difference++;
+      }
+    }
+    return difference;
+  }
+}
@@ -0,0 +1,98 @@
+package tools.graph;
+
+/**
+ * The result of a breadth-first search from a source vertex: for each vertex, the number of
+ * steps to reach it and the vertex it was reached from.
+ */
+public class BfsResult {
+  /**
+   * The distance and the parent of the vertices which were not reached.
+   */
+  public static final int UNREACHED = -1;
+
+  private final CsrGraph graph;
+  private final int source;
+  private final int[] distances;
+  private final int[] parents;
+  private final int reachedCount;
+
+  /**
+   * Create a search result.
+   *
+   * @param graph        The graph which was searched
+   * @param source       The id of the source vertex
+   * @param distances    The number of steps to reach each vertex, UNREACHED if not reached
+   * @param parents      The vertex from which each vertex was reached, UNREACHED for the
+   *                     source and for the vertices which were not reached
+   * @param reachedCount The number of reached vertices, including the source
+   */
+  BfsResult(CsrGraph graph, int source, int[] distances, int[] parents, int reachedCount) {
+    this.graph = graph;
+    this.source = source;
+    this.distances = distances;
+    this.parents = parents;
+    this.reachedCount = reachedCount;
+  }
+
+  public int getSource() {
+    return source;
+  }
+
+  public int getReachedCount() {
+    return reachedCount;
+  }
+
+  public boolean isReached(int v) {
+    return distances[v] != UNREACHED;
+  }
+
+  /**
+   * Get the number of steps to reach a vertex.
+   *
+   * @param v The id of the vertex
+   * @return The length of the shortest path from the source, UNREACHED if not reachable
+   */
+  public int getDistance(int v) {
+    return distances[v];
+  }
+
+  /**
+   * Get the distances of all the vertices. The array is shared for speed, it must not be
+   * modified.
+   *
+   * @return The distance of each vertex, UNREACHED for the vertices which were not reached
+   */
+  public int[] getDistances() {
+    return distances;
+  }
+
+  /**
+   * Get the parents of all the vertices: the vertex on the shortest path right before.
+   * The array is shared for speed, it must not be modified.
+   *
+   * @return The parent of each vertex, UNREACHED for the source and the vertices which were
+   *     not reached
+   */
+  public int[] getParents() {
+    return parents;
+  }
+
+  /**
+   * Construct the shortest path from the source to a vertex, the same way as
+   * {@link BidirectionalGraph} does it: one path vertex per step, the source itself is not
+   * included.
+   *
+   * @param target The id of the target vertex
+   * @return The path, empty when the target is the source; null if the target was not reached
+   */
+  public Path constructPath(int target) {
+    if (!isReached(target)) {
+      return null;
+    }
+    Path path = new Path();
+    for (int v = target; v != source; v = parents[v]) {
+      path.prepend(new PathVertex(graph.getName(v), distances[v], graph.getName(parents[v])));
+    }
+    return path;
+  }
+}
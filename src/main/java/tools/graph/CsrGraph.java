@@ -0,0 +1,191 @@
+package tools.graph;
+
+import java.util.Map;
+
+/**
+ * An immutable graph with vertices identified by dense integer ids, stored in compressed sparse
+ * row (CSR) form: the edges going out of vertex v are edges offsets[v] .. offsets[v + 1] - 1,
+ * edge e goes to vertex targets[e] and has capacity capacities[e].
+ * Use {@link GraphBuilder} to create one. In a bidirectional graph, each connection is stored
+ * as two edges, one in each direction.
+ */
+public final class CsrGraph {
+  private final String[] names;
+  private final Map<String, Integer> ids;
+  private final int[] offsets;
+  private final int[] targets;
+  private final long[] capacities;
+  private final boolean bidirectional;
+
+  /**
+   * Create a graph, called by the builder.
+   *
+   * @param names         The vertex names, indexed by the vertex id
+   * @param ids           The vertex ids, by vertex name
+   * @param offsets       The index of the first outgoing edge for each vertex, with one
+   *                      extra element at the end: the total number of edges
+   * @param targets       The target vertex of each edge
+   * @param capacities    The capacity of each edge, null when all the capacities are 1
+   * @param bidirectional Whether each connection is stored in both directions
+   */
+  CsrGraph(String[] names, Map<String, Integer> ids, int[] offsets, int[] targets,
+           long[] capacities, boolean bidirectional) {
+    this.names = names;
+    this.ids = ids;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.capacities = capacities;
+    this.bidirectional = bidirectional;
+  }
+
+  /**
+   * Create an int-indexed copy of a graph.
+   *
+   * @param graph The graph to copy
+   * @return The graph in CSR form
+   */
+  public static CsrGraph from(BidirectionalGraph graph) {
+    GraphBuilder builder = new GraphBuilder(false);
+    for (String vertex : graph.getVertices()) {
+      builder.addVertex(vertex);
+    }
+    for (String vertex : graph.getVertices()) {
+      var connections = graph.getConnectionsFor(vertex);
+      if (connections != null) {
+        for (String connected : connections) {
+          builder.addEdge(vertex, connected);
+        }
+      }
+    }
+    // The bidirectional graph reports both directions of each edge already
+    CsrGraph directed = builder.build();
+    return new CsrGraph(directed.names, directed.ids, directed.offsets, directed.targets,
+        null, graph.isBidirectional());
+  }
+
+  /**
+   * Create a string-keyed copy of this graph, for the tools which work with those.
+   *
+   * @return A new bidirectional graph with the same connections
+   * @throws IllegalStateException When this graph is not bidirectional
+   */
+  public BidirectionalGraph toBidirectionalGraph() throws IllegalStateException {
+    if (!bidirectional) {
+      throw new IllegalStateException("A directed graph can't be converted to a bidirectional");
+    }
+    BidirectionalGraph graph = new BidirectionalGraph();
+    for (int u = 0; u < names.length; ++u) {
+      for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+        graph.addBidirectionalEdge(names[u], names[targets[e]]);
+      }
+    }
+    return graph;
+  }
+
+  public int getVertexCount() {
+    return names.length;
+  }
+
+  /**
+   * Get the number of stored (directed) edges. In a bidirectional graph, this is twice the
+   * number of connections.
+   *
+   * @return The number of edges
+   */
+  public int getEdgeCount() {
+    return targets.length;
+  }
+
+  public boolean isBidirectional() {
+    return bidirectional;
+  }
+
+  /**
+   * Get the name of a vertex.
+   *
+   * @param id The id of the vertex
+   * @return The name of the vertex
+   */
+  public String getName(int id) {
+    return names[id];
+  }
+
+  /**
+   * Get the id of a vertex.
+   *
+   * @param name The name of the vertex
+   * @return The id of the vertex
+   * @throws IllegalArgumentException When there is no vertex with this name
+   */
+  public int getId(String name) throws IllegalArgumentException {
+    Integer id = ids.get(name);
+    if (id == null) {
+      throw new IllegalArgumentException("Unknown vertex: " + name);
+    }
+    return id;
+  }
+
+  /**
+   * Get the number of edges going out of a vertex.
+   *
+   * @param v The id of the vertex
+   * @return The number of outgoing edges
+   */
+  public int getDegree(int v) {
+    return offsets[v + 1] - offsets[v];
+  }
+
+  /**
+   * Get the edge offsets: the edges going out of vertex v are offsets[v] .. offsets[v + 1] - 1.
+   * The array is shared for speed, it must not be modified.
+   *
+   * @return The offsets, one element per vertex plus one
+   */
+  public int[] getOffsets() {
+    return offsets;
+  }
+
+  /**
+   * Get the target vertex of each edge. The array is shared for speed, it must not be modified.
+   *
+   * @return The targets, one element per edge
+   */
+  public int[] getTargets() {
+    return targets;
+  }
+
+  /**
+   * Find the vertex which an edge goes out of, a binary search in the offsets.
+   *
+   * @param edge The index of the edge
+   * @return The id of the source vertex of the edge
+   */
+  public int getEdgeSource(int edge) {
+    int low = 0;
+    int high = names.length - 1;
+    // Find the last vertex whose first edge is at or before the edge
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (offsets[middle] <= edge) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  public boolean hasCapacities() {
+    return capacities != null;
+  }
+
+  /**
+   * Get the capacity of an edge.
+   *
+   * @param edge The index of the edge
+   * @return The capacity of the edge, 1 if no capacities were specified
+   */
+  public long getCapacity(int edge) {
+    return capacities != null ? capacities[edge] : 1;
+  }
+}
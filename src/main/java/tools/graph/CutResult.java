@@ -0,0 +1,91 @@
+package tools.graph;
+
+import java.util.Arrays;
+
+/**
+ * The result of a global minimum cut search: the vertices split into two non-empty parts, and
+ * the edges between the parts.
+ */
+public class CutResult {
+  private final long weight;
+  private final int[] cutEdges;
+  private final boolean[] firstPart;
+  private final int firstPartSize;
+
+  /**
+   * Create a cut result.
+   *
+   * @param weight    The total capacity of the cut edges
+   * @param cutEdges  The indices (in the CSR graph) of the edges between the parts; in a
+   *                  bidirectional graph, each connection is listed once
+   * @param firstPart For each vertex id: whether the vertex is in the first part
+   */
+  public CutResult(long weight, int[] cutEdges, boolean[] firstPart) {
+    this.weight = weight;
+    this.cutEdges = cutEdges;
+    this.firstPart = firstPart;
+    int size = 0;
+    for (boolean inFirstPart : firstPart) {
+      if (inFirstPart) {
+        size++;
+      }
+    }
+    this.firstPartSize = size;
+  }
+
+  /**
+   * Create the result for a partition of the vertices: find the edges between the parts.
+   *
+   * @param graph     The graph
+   * @param firstPart For each vertex id: whether the vertex is in the first part
+   * @return The cut result
+   */
+  static CutResult of(CsrGraph graph, boolean[] firstPart) {
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    long weight = 0;
+    int cutEdgeCount = 0;
+    int[] cutEdges = new int[graph.getEdgeCount()];
+    for (int u = 0; u < graph.getVertexCount(); ++u) {
+      for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+        int v = targets[e];
+        if (firstPart[u] != firstPart[v] && (!graph.isBidirectional() || u < v)) {
+          weight += graph.getCapacity(e);
+          cutEdges[cutEdgeCount++] = e;
+        }
+      }
+    }
+    return new CutResult(weight, Arrays.copyOf(cutEdges, cutEdgeCount), firstPart);
+  }
+
+  public long getWeight() {
+    return weight;
+  }
+
+  /**
+   * Get the edges of the cut.
+   *
+   * @return The indices of the cut edges in the CSR graph
+   */
+  public int[] getCutEdges() {
+    return cutEdges.clone();
+  }
+
+  /**
+   * Check in which part of the cut a vertex is.
+   *
+   * @param v The id of the vertex
+   * @return True if the vertex is in the first part, false if in the second one
+   */
+  public boolean isInFirstPart(int v) {
+    return firstPart[v];
+  }
+
+  public int getFirstPartSize() {
+    return firstPartSize;
+  }
+
+  public int getSecondPartSize() {
+    return firstPart.length - firstPartSize;
+  }
+}
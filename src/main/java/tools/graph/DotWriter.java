@@ -1,5 +1,6 @@
 package tools.graph;
 
+import java.io.IOException;
 import java.util.Set;
 import java.util.stream.Collectors;
 import tools.OutputFile;
@@ -33,6 +34,22 @@ public class DotWriter {
     file.close();
   }
 
+  /**
+   * Write an int-indexed graph to a .dot file, the vertices are written with their names.
+   * The edges are streamed by {@link GraphExporter}, without building a string-keyed graph.
+   *
+   * @param graph    The graph to write to the file
+   * @param filePath The path to the file where to write the output
+   * @throws IllegalArgumentException When the file can't be written
+   */
+  public static void write(CsrGraph graph, String filePath) throws IllegalArgumentException {
+    try {
+      GraphExporter.write(graph, filePath, GraphExporter.Format.DOT);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Can't write the file: " + filePath);
+    }
+  }
+
   private static void writeEdgesToVertex(OutputFile file, BidirectionalGraph graph, String vertex) {
     Set<String> connections = graph.getConnectionsFor(vertex);
     if (connections != null && !connections.isEmpty()) {
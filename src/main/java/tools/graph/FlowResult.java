@@ -0,0 +1,73 @@
+package tools.graph;
+
+/**
+ * The result of a maximum flow search: the flow value and the minimum cut.
+ */
+public class FlowResult {
+  private final long flowValue;
+  private final int[] cutEdges;
+  private final boolean[] sourceSide;
+  private final int sourceSideSize;
+
+  /**
+   * Create a flow result.
+   *
+   * @param flowValue  The maximum flow value, which is the total capacity of the cut edges
+   * @param cutEdges   The indices (in the CSR graph) of the edges going from the source side
+   *                   to the sink side
+   * @param sourceSide For each vertex id: whether the vertex is on the source side of the cut
+   */
+  public FlowResult(long flowValue, int[] cutEdges, boolean[] sourceSide) {
+    this.flowValue = flowValue;
+    this.cutEdges = cutEdges;
+    this.sourceSide = sourceSide;
+    int size = 0;
+    for (boolean onSourceSide : sourceSide) {
+      if (onSourceSide) {
+        size++;
+      }
+    }
+    this.sourceSideSize = size;
+  }
+
+  public long getFlowValue() {
+    return flowValue;
+  }
+
+  /**
+   * Get the edges of the minimum cut.
+   *
+   * @return The indices of the cut edges in the CSR graph
+   */
+  public int[] getCutEdges() {
+    return cutEdges.clone();
+  }
+
+  /**
+   * Check on which side of the cut a vertex is.
+   *
+   * @param v The id of the vertex
+   * @return True if the vertex is on the source side, false if on the sink side
+   */
+  public boolean isOnSourceSide(int v) {
+    return sourceSide[v];
+  }
+
+  /**
+   * Get the number of vertices on the source side of the cut.
+   *
+   * @return The number of vertices reachable from the source in the residual network
+   */
+  public int getSourceSideSize() {
+    return sourceSideSize;
+  }
+
+  /**
+   * Get the number of vertices on the sink side of the cut.
+   *
+   * @return The number of vertices not reachable from the source in the residual network
+   */
+  public int getSinkSideSize() {
+    return sourceSide.length - sourceSideSize;
+  }
+}
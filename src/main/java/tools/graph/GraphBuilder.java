@@ -0,0 +1,140 @@
+package tools.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the edges of a graph and freezes them into a {@link CsrGraph}.
+ * The vertex names are interned: each distinct name gets a dense integer id (0, 1, 2, ...),
+ * in the order in which the names are first seen.
+ * The edges are stored in primitive arrays, parallel edges are kept as they are.
+ */
+public class GraphBuilder {
+  private static final int INITIAL_EDGE_CAPACITY = 16;
+  private static final long DEFAULT_CAPACITY = 1;
+
+  private final Map<String, Integer> vertexIds = new HashMap<>();
+  private final List<String> vertexNames = new ArrayList<>();
+  private final boolean bidirectional;
+  private int[] edgeSources = new int[INITIAL_EDGE_CAPACITY];
+  private int[] edgeTargets = new int[INITIAL_EDGE_CAPACITY];
+  private long[] edgeCapacities = new long[INITIAL_EDGE_CAPACITY];
+  private int edgeCount = 0;
+  private boolean hasCapacities = false;
+
+  /**
+   * Create a builder.
+   *
+   * @param bidirectional When true, each added edge (u, v) is stored as (u, v) and (v, u)
+   */
+  public GraphBuilder(boolean bidirectional) {
+    this.bidirectional = bidirectional;
+  }
+
+  /**
+   * Get the id of a vertex, add the vertex if it is not known yet.
+   *
+   * @param name The name of the vertex
+   * @return The id of the vertex
+   */
+  public int addVertex(String name) {
+    Integer id = vertexIds.get(name);
+    if (id == null) {
+      id = vertexNames.size();
+      vertexIds.put(name, id);
+      vertexNames.add(name);
+    }
+    return id;
+  }
+
+  /**
+   * Add an edge with the default capacity (1).
+   *
+   * @param u Name of the first vertex
+   * @param v Name of the second vertex
+   */
+  public void addEdge(String u, String v) {
+    addEdge(addVertex(u), addVertex(v), DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Add an edge with a capacity.
+   *
+   * @param u        Name of the first vertex
+   * @param v        Name of the second vertex
+   * @param capacity The capacity of the edge (in both directions, for bidirectional graphs)
+   */
+  public void addEdge(String u, String v, long capacity) {
+    addEdge(addVertex(u), addVertex(v), capacity);
+  }
+
+  /**
+   * Add an edge between vertices which were already added.
+   *
+   * @param u        Id of the first vertex
+   * @param v        Id of the second vertex
+   * @param capacity The capacity of the edge (in both directions, for bidirectional graphs)
+   * @throws IllegalArgumentException When a vertex id is unknown
+   */
+  public void addEdge(int u, int v, long capacity) throws IllegalArgumentException {
+    if (u < 0 || u >= vertexNames.size() || v < 0 || v >= vertexNames.size()) {
+      throw new IllegalArgumentException("Unknown vertex in edge (" + u + ", " + v + ")");
+    }
+    addDirectionalEdge(u, v, capacity);
+    if (bidirectional) {
+      addDirectionalEdge(v, u, capacity);
+    }
+    if (capacity != DEFAULT_CAPACITY) {
+      hasCapacities = true;
+    }
+  }
+
+  private void addDirectionalEdge(int u, int v, long capacity) {
+    if (edgeCount == edgeSources.length) {
+      int newCapacity = edgeCount * 2;
+      edgeSources = Arrays.copyOf(edgeSources, newCapacity);
+      edgeTargets = Arrays.copyOf(edgeTargets, newCapacity);
+      edgeCapacities = Arrays.copyOf(edgeCapacities, newCapacity);
+    }
+    edgeSources[edgeCount] = u;
+    edgeTargets[edgeCount] = v;
+    edgeCapacities[edgeCount] = capacity;
+    edgeCount++;
+  }
+
+  public int getVertexCount() {
+    return vertexNames.size();
+  }
+
+  /**
+   * Freeze the collected edges into compressed sparse row arrays (a counting sort of the edges
+   * by their source vertex). The builder can still be used afterwards.
+   *
+   * @return The graph
+   */
+  public CsrGraph build() {
+    int vertexCount = vertexNames.size();
+    int[] offsets = new int[vertexCount + 1];
+    for (int i = 0; i < edgeCount; ++i) {
+      offsets[edgeSources[i] + 1]++;
+    }
+    for (int v = 0; v < vertexCount; ++v) {
+      offsets[v + 1] += offsets[v];
+    }
+    int[] next = Arrays.copyOf(offsets, vertexCount);
+    int[] targets = new int[edgeCount];
+    long[] capacities = hasCapacities ? new long[edgeCount] : null;
+    for (int i = 0; i < edgeCount; ++i) {
+      int edge = next[edgeSources[i]]++;
+      targets[edge] = edgeTargets[i];
+      if (capacities != null) {
+        capacities[edge] = edgeCapacities[i];
+      }
+    }
+    return new CsrGraph(vertexNames.toArray(new String[0]), new HashMap<>(vertexIds), offsets,
+        targets, capacities, bidirectional);
+  }
+}
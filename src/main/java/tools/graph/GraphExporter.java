@@ -0,0 +1,201 @@
+package tools.graph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes an int-indexed graph to a file in the DOT (Graphviz) or GraphML format.
+ * The edges are streamed straight from the CSR arrays into a large buffered writer: nothing is
+ * collected per vertex, so graphs with millions of edges are written in linear time with
+ * a constant amount of extra memory. A bidirectional graph stores each connection in both
+ * directions; only the direction from the lower vertex id to the higher one is written.
+ */
+public class GraphExporter {
+  private static final int BUFFER_SIZE = 1 << 18;
+
+  /**
+   * The supported output formats.
+   */
+  public enum Format {
+    /**
+     * Graphviz DOT: the edges of each vertex are grouped, "u -- {v w}", unless the graph has
+     * capacities - then each edge is written separately with the capacity as a label.
+     */
+    DOT,
+    /**
+     * GraphML (XML), the capacities are written as edge data.
+     */
+    GRAPHML;
+
+    /**
+     * Get the format matching the extension of a file name: .graphml for GraphML, DOT for
+     * anything else.
+     *
+     * @param filePath The path to the file
+     * @return The format
+     */
+    public static Format forFile(String filePath) {
+      return filePath.endsWith(".graphml") ? GRAPHML : DOT;
+    }
+  }
+
+  /**
+   * Not allowed to instantiate the class.
+   */
+  private GraphExporter() {
+  }
+
+  /**
+   * Write a graph to a file.
+   *
+   * @param graph    The graph to write
+   * @param filePath The path to the file, it is overwritten if it exists
+   * @param format   The output format
+   * @throws IOException When the file can't be written
+   */
+  public static void write(CsrGraph graph, String filePath, Format format) throws IOException {
+    try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+        Files.newOutputStream(Path.of(filePath)), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+      write(graph, writer, format);
+    }
+  }
+
+  /**
+   * Write a graph to a writer. The writer is not closed (but it is flushed).
+   *
+   * @param graph  The graph to write
+   * @param writer The writer to use, should be buffered
+   * @param format The output format
+   * @throws IOException When writing fails
+   */
+  public static void write(CsrGraph graph, Writer writer, Format format) throws IOException {
+    switch (format) {
+      case DOT -> writeDot(graph, writer);
+      case GRAPHML -> writeGraphMl(graph, writer);
+      default -> throw new IllegalArgumentException("Unknown format: " + format);
+    }
+    writer.flush();
+  }
+
+  /**
+   * Check whether an edge is written: in a bidirectional graph, only the direction going to
+   * a higher id (and the loops).
+   */
+  private static boolean isWritten(CsrGraph graph, int u, int v) {
+    return !graph.isBidirectional() || u <= v;
+  }
+
+  private static void writeDot(CsrGraph graph, Writer writer) throws IOException {
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    String connection = graph.isBidirectional() ? " -- " : " -> ";
+    writer.write(graph.isBidirectional() ? "graph g {\n" : "digraph g {\n");
+    for (int u = 0; u < graph.getVertexCount(); ++u) {
+      if (graph.getDegree(u) == 0) {
+        // A vertex without edges would be lost otherwise
+        writer.write("  ");
+        writer.write(graph.getName(u));
+        writer.write('\n');
+      } else if (graph.hasCapacities()) {
+        for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+          if (isWritten(graph, u, targets[e])) {
+            writer.write("  ");
+            writer.write(graph.getName(u));
+            writer.write(connection);
+            writer.write(graph.getName(targets[e]));
+            writer.write(" [label=");
+            writer.write(Long.toString(graph.getCapacity(e)));
+            writer.write("]\n");
+          }
+        }
+      } else {
+        boolean groupStarted = false;
+        for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+          if (isWritten(graph, u, targets[e])) {
+            if (!groupStarted) {
+              writer.write("  ");
+              writer.write(graph.getName(u));
+              writer.write(connection);
+              writer.write('{');
+              groupStarted = true;
+            } else {
+              writer.write(' ');
+            }
+            writer.write(graph.getName(targets[e]));
+          }
+        }
+        if (groupStarted) {
+          writer.write("}\n");
+        }
+      }
+    }
+    writer.write("}\n");
+  }
+
+  private static void writeGraphMl(CsrGraph graph, Writer writer) throws IOException {
+    writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    writer.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+    if (graph.hasCapacities()) {
+      writer.write("  <key id=\"capacity\" for=\"edge\" attr.name=\"capacity\""
+          + " attr.type=\"long\"/>\n");
+    }
+    writer.write("  <graph id=\"g\" edgedefault=\"");
+    writer.write(graph.isBidirectional() ? "undirected" : "directed");
+    writer.write("\">\n");
+    for (int v = 0; v < graph.getVertexCount(); ++v) {
+      writer.write("    <node id=\"");
+      writeEscaped(writer, graph.getName(v));
+      writer.write("\"/>\n");
+    }
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    for (int u = 0; u < graph.getVertexCount(); ++u) {
+      for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+        int v = targets[e];
+        if (isWritten(graph, u, v)) {
+          writer.write("    <edge source=\"");
+          writeEscaped(writer, graph.getName(u));
+          writer.write("\" target=\"");
+          writeEscaped(writer, graph.getName(v));
+          if (graph.hasCapacities()) {
+            writer.write("\"><data key=\"capacity\">");
+            writer.write(Long.toString(graph.getCapacity(e)));
+            writer.write("</data></edge>\n");
+          } else {
+            writer.write("\"/>\n");
+          }
+        }
+      }
+    }
+    writer.write("  </graph>\n");
+    writer.write("</graphml>\n");
+  }
+
+  /**
+   * Write a string as an XML attribute value. Runs of ordinary characters are written at once,
+   * no new strings are created.
+   */
+  private static void writeEscaped(Writer writer, String s) throws IOException {
+    int start = 0;
+    for (int i = 0; i < s.length(); ++i) {
+      String replacement = switch (s.charAt(i)) {
+        case '&' -> "&amp;";
+        case '<' -> "&lt;";
+        case '>' -> "&gt;";
+        case '"' -> "&quot;";
+        default -> null;
+      };
+      if (replacement != null) {
+        writer.write(s, start, i - start);
+        writer.write(replacement);
+        start = i + 1;
+      }
+    }
+    writer.write(s, start, s.length() - start);
+  }
+}
@@ -0,0 +1,367 @@
+package tools.graph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds a global minimum cut of a graph with the randomized Karger-Stein algorithm, running
+ * independent trials on several threads. The direction of the edges is ignored, the capacities
+ * are the edge weights.
+ * A trial contracts random edges (heavier edges are more likely to be picked) until about
+ * V / sqrt(2) vertices are left, twice independently, and recurses on both contracted graphs;
+ * tiny graphs are cut by trying all the partitions. One trial finds a minimum cut with
+ * a probability of about 1 / log(V), so the best cut of enough trials is a minimum cut with
+ * high probability - but unlike {@link StoerWagnerMinCut}, it is not guaranteed.
+ * The trials are seeded deterministically, so the result does not depend on the thread timing.
+ */
+public class KargerSteinMinCut {
+  /**
+   * Graphs with at most this many vertices are cut by trying all the partitions.
+   */
+  private static final int BRUTE_FORCE_SIZE = 6;
+  private static final long DEFAULT_SEED = 25;
+
+  private final CsrGraph graph;
+  private final UndirectedEdges edges;
+  private final int trialCount;
+  private final int parallelism;
+  private final long seed;
+
+  /**
+   * Prepare a search using all the available processors.
+   *
+   * @param graph      The graph, should have at least two vertices
+   * @param trialCount The number of independent trials
+   */
+  public KargerSteinMinCut(CsrGraph graph, int trialCount) {
+    this(graph, trialCount, Runtime.getRuntime().availableProcessors(), DEFAULT_SEED);
+  }
+
+  /**
+   * Prepare a search.
+   *
+   * @param graph       The graph, should have at least two vertices
+   * @param trialCount  The number of independent trials
+   * @param parallelism The number of threads to use
+   * @param seed        The seed of the random generators
+   */
+  public KargerSteinMinCut(CsrGraph graph, int trialCount, int parallelism, long seed) {
+    this.graph = graph;
+    this.edges = UndirectedEdges.of(graph);
+    this.trialCount = trialCount;
+    this.parallelism = parallelism;
+    this.seed = seed;
+  }
+
+  /**
+   * Get the number of trials after which a minimum cut is missed with a probability of about
+   * 1 / V: ln(V)^2.
+   *
+   * @param vertexCount The number of vertices in the graph
+   * @return The recommended trial count
+   */
+  public static int getRecommendedTrialCount(int vertexCount) {
+    double log = Math.log(Math.max(vertexCount, 2));
+    return (int) Math.ceil(log * log);
+  }
+
+  /**
+   * Run the trials and return the best cut found.
+   *
+   * @return The cut with the lowest weight over all the trials
+   * @throws IllegalStateException When the graph has less than two vertices
+   */
+  public CutResult find() throws IllegalStateException {
+    if (graph.getVertexCount() < 2) {
+      throw new IllegalStateException("A graph with less than two vertices can't be cut");
+    }
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    Cut best;
+    try {
+      best = pool.invoke(new TrialTask(0, Math.max(trialCount, 1)));
+    } finally {
+      pool.shutdown();
+    }
+    return CutResult.of(graph, best.firstPart);
+  }
+
+  private Cut runTrial(int trial) {
+    SplittableRandom random = new SplittableRandom(seed + trial);
+    return findCut(new Contraction(graph.getVertexCount(), null, edges.first, edges.second,
+        edges.weights, edges.count), random);
+  }
+
+  /**
+   * Find a cut of a contracted graph, recursively.
+   *
+   * @return The cut, the parts are given for the vertices of this contracted graph
+   */
+  private static Cut findCut(Contraction graph, SplittableRandom random) {
+    if (graph.edgeCount == 0) {
+      // Disconnected: any group of merged vertices is a cut with no edges
+      return graph.createCut(0, 1);
+    }
+    if (graph.vertexCount <= BRUTE_FORCE_SIZE) {
+      return graph.findCutByBruteForce();
+    }
+    int target = (int) Math.ceil(1 + graph.vertexCount / Math.sqrt(2));
+    Contraction first = graph.contract(target, random);
+    Cut firstCut = findCut(first, random);
+    Contraction second = graph.contract(target, random);
+    Cut secondCut = findCut(second, random);
+    return firstCut.weight <= secondCut.weight ? graph.expandCut(firstCut, first)
+        : graph.expandCut(secondCut, second);
+  }
+
+  /**
+   * A cut found by a trial: the weight, and for each vertex whether it is in the first part.
+   */
+  private static class Cut {
+    final long weight;
+    final boolean[] firstPart;
+
+    Cut(long weight, boolean[] firstPart) {
+      this.weight = weight;
+      this.firstPart = firstPart;
+    }
+  }
+
+  /**
+   * A graph obtained by contracting edges of another graph. Each vertex of the other graph is
+   * mapped to the vertex it was merged into; only the mapping of one step is stored, so that
+   * the small graphs deep in the recursion don't need arrays as big as the original graph.
+   * Parallel edges are kept while the graph is sparse.
+   */
+  private static class Contraction {
+    final int vertexCount;
+    /**
+     * For each vertex of the graph this one was contracted from: the vertex it belongs to,
+     * null for the original graph.
+     */
+    final int[] mapping;
+    final int[] first;
+    final int[] second;
+    final long[] weights;
+    final int edgeCount;
+
+    Contraction(int vertexCount, int[] mapping, int[] first, int[] second, long[] weights,
+                int edgeCount) {
+      this.vertexCount = vertexCount;
+      this.mapping = mapping;
+      this.first = first;
+      this.second = second;
+      this.weights = weights;
+      this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Contract random edges until the target vertex count is reached (or no edges are left).
+     * An edge is picked with a probability proportional to its weight, by a binary search in
+     * the cumulative weights; a union-find merges the vertices. Edges which have become loops
+     * are picked and skipped, until there have been as many misses as edges: then the
+     * cumulative weights are rebuilt with the loops left out.
+     */
+    Contraction contract(int target, SplittableRandom random) {
+      int[] parent = new int[vertexCount];
+      for (int v = 0; v < vertexCount; ++v) {
+        parent[v] = v;
+      }
+      long[] cumulativeWeights = new long[edgeCount];
+      long totalWeight = 0;
+      for (int i = 0; i < edgeCount; ++i) {
+        totalWeight += weights[i];
+        cumulativeWeights[i] = totalWeight;
+      }
+      int components = vertexCount;
+      int misses = 0;
+      while (components > target && totalWeight > 0) {
+        int edge = findEdge(cumulativeWeights, random.nextLong(totalWeight));
+        int u = findRoot(parent, first[edge]);
+        int v = findRoot(parent, second[edge]);
+        if (u != v) {
+          parent[u] = v;
+          components--;
+        } else if (++misses > edgeCount) {
+          totalWeight = 0;
+          for (int i = 0; i < edgeCount; ++i) {
+            if (findRoot(parent, first[i]) != findRoot(parent, second[i])) {
+              totalWeight += weights[i];
+            }
+            cumulativeWeights[i] = totalWeight;
+          }
+          misses = 0;
+        }
+      }
+
+      int[] newIds = new int[vertexCount];
+      Arrays.fill(newIds, -1);
+      int newVertexCount = 0;
+      for (int v = 0; v < vertexCount; ++v) {
+        int root = findRoot(parent, v);
+        if (newIds[root] < 0) {
+          newIds[root] = newVertexCount++;
+        }
+        newIds[v] = newIds[root];
+      }
+      int[] newFirst = new int[edgeCount];
+      int[] newSecond = new int[edgeCount];
+      long[] newWeights = new long[edgeCount];
+      int newEdgeCount = 0;
+      for (int i = 0; i < edgeCount; ++i) {
+        int u = newIds[first[i]];
+        int v = newIds[second[i]];
+        if (u != v) {
+          newFirst[newEdgeCount] = u;
+          newSecond[newEdgeCount] = v;
+          newWeights[newEdgeCount] = weights[i];
+          newEdgeCount++;
+        }
+      }
+      if ((long) newVertexCount * newVertexCount <= 2L * newEdgeCount) {
+        newEdgeCount = mergeParallelEdges(newVertexCount, newFirst, newSecond, newWeights,
+            newEdgeCount);
+      }
+      return new Contraction(newVertexCount, newIds, newFirst, newSecond, newWeights,
+          newEdgeCount);
+    }
+
+    /**
+     * Replace the parallel edges by one edge with the sum of their weights, using a weight
+     * matrix. Called only when the matrix is not bigger than the edge list, then the edge count
+     * stays bounded by V^2 / 2 in the deeper levels of the recursion.
+     *
+     * @return The new number of edges, the edges are rewritten in the arrays
+     */
+    private static int mergeParallelEdges(int vertexCount, int[] first, int[] second,
+                                          long[] weights, int edgeCount) {
+      long[] matrix = new long[vertexCount * vertexCount];
+      for (int i = 0; i < edgeCount; ++i) {
+        int u = Math.min(first[i], second[i]);
+        int v = Math.max(first[i], second[i]);
+        matrix[u * vertexCount + v] += weights[i];
+      }
+      int mergedCount = 0;
+      for (int u = 0; u < vertexCount; ++u) {
+        for (int v = u + 1; v < vertexCount; ++v) {
+          long weight = matrix[u * vertexCount + v];
+          if (weight > 0) {
+            first[mergedCount] = u;
+            second[mergedCount] = v;
+            weights[mergedCount] = weight;
+            mergedCount++;
+          }
+        }
+      }
+      return mergedCount;
+    }
+
+    /**
+     * Find the first edge whose cumulative weight is higher than the value.
+     */
+    private static int findEdge(long[] cumulativeWeights, long value) {
+      int low = 0;
+      int high = cumulativeWeights.length - 1;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (cumulativeWeights[middle] > value) {
+          high = middle;
+        } else {
+          low = middle + 1;
+        }
+      }
+      return low;
+    }
+
+    private static int findRoot(int[] parent, int v) {
+      while (parent[v] != v) {
+        parent[v] = parent[parent[v]];
+        v = parent[v];
+      }
+      return v;
+    }
+
+    /**
+     * Try all the partitions of the (few) vertices. The last vertex always stays in the
+     * second part, so each partition is tried once.
+     */
+    Cut findCutByBruteForce() {
+      long bestWeight = Long.MAX_VALUE;
+      int bestMask = 0;
+      for (int mask = 1; mask < 1 << (vertexCount - 1); ++mask) {
+        long weight = 0;
+        for (int i = 0; i < edgeCount; ++i) {
+          if ((((mask >> first[i]) ^ (mask >> second[i])) & 1) != 0) {
+            weight += weights[i];
+          }
+        }
+        if (weight < bestWeight) {
+          bestWeight = weight;
+          bestMask = mask;
+        }
+      }
+      return createCut(bestWeight, bestMask);
+    }
+
+    /**
+     * Create a cut of this graph.
+     *
+     * @param weight The weight of the cut
+     * @param mask   Bit i is set when vertex i is in the first part
+     */
+    Cut createCut(long weight, int mask) {
+      boolean[] firstPart = new boolean[vertexCount];
+      // The mask only covers the lowest vertices, a shift by more would wrap around
+      for (int v = 0; v < vertexCount && v < Integer.SIZE; ++v) {
+        firstPart[v] = (mask >> v & 1) != 0;
+      }
+      return new Cut(weight, firstPart);
+    }
+
+    /**
+     * Turn a cut of a graph contracted from this one into a cut of this graph.
+     */
+    Cut expandCut(Cut cut, Contraction contracted) {
+      boolean[] firstPart = new boolean[vertexCount];
+      for (int v = 0; v < vertexCount; ++v) {
+        firstPart[v] = cut.firstPart[contracted.mapping[v]];
+      }
+      return new Cut(cut.weight, firstPart);
+    }
+  }
+
+  /**
+   * Runs a range of trials: either splits it in two halves, or runs the trials directly.
+   */
+  private class TrialTask extends RecursiveTask<Cut> {
+    private static final long serialVersionUID = 1L;
+
+    private final int firstTrial;
+    private final int endTrial;
+
+    /**
+     * Create a task for a range of trials.
+     *
+     * @param firstTrial The index of the first trial (inclusive)
+     * @param endTrial   The index of the last trial (exclusive)
+     */
+    TrialTask(int firstTrial, int endTrial) {
+      this.firstTrial = firstTrial;
+      this.endTrial = endTrial;
+    }
+
+    @Override
+    protected Cut compute() {
+      if (endTrial - firstTrial > 1) {
+        int middle = (firstTrial + endTrial) / 2;
+        TrialTask second = new TrialTask(middle, endTrial);
+        second.fork();
+        Cut firstCut = new TrialTask(firstTrial, middle).compute();
+        Cut secondCut = second.join();
+        return firstCut.weight <= secondCut.weight ? firstCut : secondCut;
+      }
+      return runTrial(firstTrial);
+    }
+  }
+}
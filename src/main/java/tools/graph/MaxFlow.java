@@ -0,0 +1,192 @@
+package tools.graph;
+
+import java.util.Arrays;
+
+/**
+ * Finds the maximum flow and the minimum cut between two vertices of a graph, using Dinic's
+ * algorithm: a breadth-first search assigns a level to each vertex of the residual network,
+ * then blocking flows are pushed along the paths where each step goes one level up.
+ * The residual network is stored in CSR form as well: every edge of the graph gets a forward
+ * arc with the capacity of the edge and a reverse arc with zero capacity. The edges of a
+ * bidirectional graph are stored in both directions already, so each direction has its own
+ * capacity.
+ */
+public class MaxFlow {
+  private final CsrGraph graph;
+  private final int vertexCount;
+  private final int[] arcOffsets;
+  private final int[] arcTargets;
+  private final int[] arcReverse;
+  private final long[] residual;
+  private final int[] level;
+  private final int[] currentArc;
+  private final int[] queue;
+  private final int[] pathArcs;
+
+  /**
+   * Prepare the residual network of a graph.
+   *
+   * @param graph The graph
+   */
+  public MaxFlow(CsrGraph graph) {
+    this.graph = graph;
+    vertexCount = graph.getVertexCount();
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int edgeCount = graph.getEdgeCount();
+
+    arcOffsets = new int[vertexCount + 1];
+    for (int u = 0; u < vertexCount; ++u) {
+      for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+        arcOffsets[u + 1]++;
+        arcOffsets[targets[e] + 1]++;
+      }
+    }
+    for (int v = 0; v < vertexCount; ++v) {
+      arcOffsets[v + 1] += arcOffsets[v];
+    }
+    int[] next = Arrays.copyOf(arcOffsets, vertexCount);
+    arcTargets = new int[edgeCount * 2];
+    arcReverse = new int[edgeCount * 2];
+    residual = new long[edgeCount * 2];
+    for (int u = 0; u < vertexCount; ++u) {
+      for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+        int v = targets[e];
+        int forward = next[u]++;
+        int reverse = next[v]++;
+        arcTargets[forward] = v;
+        arcTargets[reverse] = u;
+        arcReverse[forward] = reverse;
+        arcReverse[reverse] = forward;
+        residual[forward] = graph.getCapacity(e);
+      }
+    }
+
+    level = new int[vertexCount];
+    currentArc = new int[vertexCount];
+    queue = new int[vertexCount];
+    pathArcs = new int[vertexCount];
+  }
+
+  /**
+   * Find the maximum flow from the source to the sink. Can be called only once per instance,
+   * the residual network is consumed.
+   *
+   * @param source The id of the source vertex
+   * @param sink   The id of the sink vertex
+   * @return The flow value, the minimum cut and the partition of the vertices
+   * @throws IllegalArgumentException When the source and the sink are the same vertex
+   */
+  public FlowResult find(int source, int sink) throws IllegalArgumentException {
+    if (source == sink) {
+      throw new IllegalArgumentException("The source and the sink must differ");
+    }
+    long flow = 0;
+    while (assignLevels(source, sink)) {
+      System.arraycopy(arcOffsets, 0, currentArc, 0, vertexCount);
+      flow += pushBlockingFlow(source, sink);
+    }
+    return createResult(flow);
+  }
+
+  /**
+   * Breadth-first search over the arcs with remaining capacity.
+   *
+   * @return True if the sink can be reached
+   */
+  private boolean assignLevels(int source, int sink) {
+    Arrays.fill(level, -1);
+    level[source] = 0;
+    queue[0] = source;
+    int head = 0;
+    int tail = 1;
+    while (head < tail) {
+      int u = queue[head++];
+      for (int arc = arcOffsets[u]; arc < arcOffsets[u + 1]; ++arc) {
+        int v = arcTargets[arc];
+        if (residual[arc] > 0 && level[v] < 0) {
+          level[v] = level[u] + 1;
+          queue[tail++] = v;
+        }
+      }
+    }
+    return level[sink] >= 0;
+  }
+
+  /**
+   * Find augmenting paths along increasing levels until none is left. The search is iterative
+   * (the current path is kept in pathArcs), the current-arc pointers make sure that each arc is
+   * skipped at most once after it has become useless.
+   *
+   * @return The flow added in this phase
+   */
+  private long pushBlockingFlow(int source, int sink) {
+    long flow = 0;
+    int depth = 0;
+    int u = source;
+    while (true) {
+      if (u == sink) {
+        long bottleneck = Long.MAX_VALUE;
+        for (int i = 0; i < depth; ++i) {
+          bottleneck = Math.min(bottleneck, residual[pathArcs[i]]);
+        }
+        int firstSaturated = -1;
+        for (int i = 0; i < depth; ++i) {
+          int arc = pathArcs[i];
+          residual[arc] -= bottleneck;
+          residual[arcReverse[arc]] += bottleneck;
+          if (firstSaturated < 0 && residual[arc] == 0) {
+            firstSaturated = i;
+          }
+        }
+        flow += bottleneck;
+        // Continue from the tail of the first saturated arc
+        depth = firstSaturated;
+        u = depth == 0 ? source : arcTargets[pathArcs[depth - 1]];
+        continue;
+      }
+
+      int arc = currentArc[u];
+      int end = arcOffsets[u + 1];
+      while (arc < end && (residual[arc] == 0 || level[arcTargets[arc]] != level[u] + 1)) {
+        arc++;
+      }
+      currentArc[u] = arc;
+      if (arc < end) {
+        pathArcs[depth++] = arc;
+        u = arcTargets[arc];
+      } else {
+        // Dead end: no path to the sink from u in this phase
+        level[u] = -1;
+        if (depth == 0) {
+          return flow;
+        }
+        depth--;
+        u = depth == 0 ? source : arcTargets[pathArcs[depth - 1]];
+        currentArc[u]++;
+      }
+    }
+  }
+
+  private FlowResult createResult(long flow) {
+    // After the last phase, the levels mark the vertices reachable from the source
+    boolean[] sourceSide = new boolean[vertexCount];
+    for (int v = 0; v < vertexCount; ++v) {
+      sourceSide[v] = level[v] >= 0;
+    }
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int cutEdgeCount = 0;
+    int[] cutEdges = new int[graph.getEdgeCount()];
+    for (int u = 0; u < vertexCount; ++u) {
+      if (sourceSide[u]) {
+        for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+          if (!sourceSide[targets[e]]) {
+            cutEdges[cutEdgeCount++] = e;
+          }
+        }
+      }
+    }
+    return new FlowResult(flow, Arrays.copyOf(cutEdges, cutEdgeCount), sourceSide);
+  }
+}
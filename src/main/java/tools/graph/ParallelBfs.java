@@ -0,0 +1,181 @@
+package tools.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Level-synchronous breadth-first search over an int-indexed graph, on several threads.
+ * All the vertices of the current level (the frontier) are expanded in parallel, in chunks;
+ * a vertex is claimed by the first thread which sets its parent with a compare-and-set, so each
+ * vertex enters the next frontier exactly once. Each chunk collects its new vertices locally and
+ * appends them to the next frontier with one atomic reservation. Then the frontiers are swapped
+ * and the next level is expanded. Small frontiers are expanded directly on the calling thread.
+ * The distances are the same as with a sequential search; when several shortest paths exist,
+ * the chosen parents depend on the thread timing.
+ */
+public class ParallelBfs {
+  /**
+   * Frontier vertices expanded by one task without splitting further.
+   */
+  private static final int CHUNK_SIZE = 1024;
+
+  private final CsrGraph graph;
+  private final int parallelism;
+
+  /**
+   * Prepare a search using all the available processors.
+   *
+   * @param graph The graph
+   */
+  public ParallelBfs(CsrGraph graph) {
+    this(graph, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Prepare a search.
+   *
+   * @param graph       The graph
+   * @param parallelism The number of threads to use
+   */
+  public ParallelBfs(CsrGraph graph, int parallelism) {
+    this.graph = graph;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Find the shortest paths (in the number of edges) from the source to all the vertices.
+   *
+   * @param source The id of the source vertex
+   * @return The distances and the parents of all the vertices
+   */
+  public BfsResult search(int source) {
+    int vertexCount = graph.getVertexCount();
+    int[] distances = new int[vertexCount];
+    Arrays.fill(distances, BfsResult.UNREACHED);
+    AtomicIntegerArray parents = new AtomicIntegerArray(vertexCount);
+    for (int v = 0; v < vertexCount; ++v) {
+      parents.set(v, BfsResult.UNREACHED);
+    }
+    // The source is its own parent during the search, so that nobody claims it
+    parents.set(source, source);
+    distances[source] = 0;
+
+    int[] frontier = new int[vertexCount];
+    int[] nextFrontier = new int[vertexCount];
+    frontier[0] = source;
+    int frontierSize = 1;
+    int reachedCount = 1;
+    AtomicInteger nextSize = new AtomicInteger();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      for (int level = 1; frontierSize > 0; ++level) {
+        nextSize.set(0);
+        LevelTask task = new LevelTask(frontier, 0, frontierSize, nextFrontier, nextSize,
+            parents, distances, level);
+        if (frontierSize <= CHUNK_SIZE) {
+          task.compute();
+        } else {
+          pool.invoke(task);
+        }
+        frontierSize = nextSize.get();
+        reachedCount += frontierSize;
+        int[] swap = frontier;
+        frontier = nextFrontier;
+        nextFrontier = swap;
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    int[] parentArray = new int[vertexCount];
+    for (int v = 0; v < vertexCount; ++v) {
+      parentArray[v] = parents.get(v);
+    }
+    parentArray[source] = BfsResult.UNREACHED;
+    return new BfsResult(graph, source, distances, parentArray, reachedCount);
+  }
+
+  /**
+   * Expands a range of the frontier: either splits it in two halves, or expands the vertices
+   * directly.
+   */
+  private class LevelTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] frontier;
+    private final int start;
+    private final int end;
+    private final int[] nextFrontier;
+    private final AtomicInteger nextSize;
+    private final AtomicIntegerArray parents;
+    private final int[] distances;
+    private final int level;
+
+    /**
+     * Create a task for a range of the frontier.
+     *
+     * @param frontier     The vertices of the current level
+     * @param start        The index of the first frontier vertex to expand (inclusive)
+     * @param end          The index of the last frontier vertex to expand (exclusive)
+     * @param nextFrontier Where to put the vertices of the next level
+     * @param nextSize     The number of vertices in the next frontier so far
+     * @param parents      The parent of each vertex, UNREACHED when not claimed yet
+     * @param distances    The distance of each vertex
+     * @param level        The distance of the vertices of the next level
+     */
+    LevelTask(int[] frontier, int start, int end, int[] nextFrontier, AtomicInteger nextSize,
+              AtomicIntegerArray parents, int[] distances, int level) {
+      this.frontier = frontier;
+      this.start = start;
+      this.end = end;
+      this.nextFrontier = nextFrontier;
+      this.nextSize = nextSize;
+      this.parents = parents;
+      this.distances = distances;
+      this.level = level;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start > CHUNK_SIZE) {
+        int middle = (start + end) >>> 1;
+        invokeAll(new LevelTask(frontier, start, middle, nextFrontier, nextSize, parents,
+                distances, level),
+            new LevelTask(frontier, middle, end, nextFrontier, nextSize, parents, distances,
+                level));
+      } else {
+        expand();
+      }
+    }
+
+    private void expand() {
+      int[] offsets = graph.getOffsets();
+      int[] targets = graph.getTargets();
+      int edgeCount = 0;
+      for (int i = start; i < end; ++i) {
+        edgeCount += graph.getDegree(frontier[i]);
+      }
+      int[] claimed = new int[edgeCount];
+      int claimedCount = 0;
+      for (int i = start; i < end; ++i) {
+        int u = frontier[i];
+        for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+          int v = targets[e];
+          // Read before trying the compare-and-set: most neighbors are claimed already
+          if (parents.get(v) == BfsResult.UNREACHED
+              && parents.compareAndSet(v, BfsResult.UNREACHED, u)) {
+            distances[v] = level;
+            claimed[claimedCount++] = v;
+          }
+        }
+      }
+      if (claimedCount > 0) {
+        int position = nextSize.getAndAdd(claimedCount);
+        System.arraycopy(claimed, 0, nextFrontier, position, claimedCount);
+      }
+    }
+  }
+}
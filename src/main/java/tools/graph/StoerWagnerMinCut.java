@@ -0,0 +1,231 @@
+package tools.graph;
+
+import java.util.Arrays;
+
+/**
+ * Finds a global minimum cut of a graph - the cheapest set of edges whose removal splits the
+ * graph in two - with the Stoer-Wagner algorithm. No source or sink has to be chosen, and the
+ * result is exact. The direction of the edges is ignored, the capacities are the edge weights.
+ * Each phase orders the vertices by maximum adjacency (the vertex most tightly connected to the
+ * already ordered ones comes next, using an indexed max-heap); the weight connecting the last
+ * vertex to the rest is a cut candidate, then the last two vertices are merged. The merged graph
+ * is kept as an edge list and turned into CSR form at the start of each phase, so the whole
+ * search takes O(V * E log V) time on a sparse graph.
+ */
+public class StoerWagnerMinCut {
+  private final CsrGraph graph;
+  private final int vertexCount;
+
+  // The current (merged) graph: edges between the representatives of the merged vertices
+  private final int[] edgeFirst;
+  private final int[] edgeSecond;
+  private final long[] edgeWeights;
+  private int edgeCount;
+
+  // The merged vertices: linked lists of the original vertices, one per representative
+  private final int[] nextMember;
+  private final int[] lastMember;
+  private final boolean[] merged;
+
+  // Per-phase work arrays
+  private final int[] offsets;
+  private final int[] neighbors;
+  private final long[] neighborWeights;
+  private final long[] keys;
+  private final int[] heap;
+  private final int[] heapPosition;
+  private int heapSize;
+
+  /**
+   * Prepare the search.
+   *
+   * @param graph The graph, should have at least two vertices
+   */
+  public StoerWagnerMinCut(CsrGraph graph) {
+    this.graph = graph;
+    vertexCount = graph.getVertexCount();
+    UndirectedEdges edges = UndirectedEdges.of(graph);
+    edgeFirst = edges.first;
+    edgeSecond = edges.second;
+    edgeWeights = edges.weights;
+    edgeCount = edges.count;
+
+    nextMember = new int[vertexCount];
+    Arrays.fill(nextMember, -1);
+    lastMember = new int[vertexCount];
+    for (int v = 0; v < vertexCount; ++v) {
+      lastMember[v] = v;
+    }
+    merged = new boolean[vertexCount];
+
+    offsets = new int[vertexCount + 1];
+    neighbors = new int[edgeCount * 2];
+    neighborWeights = new long[edgeCount * 2];
+    keys = new long[vertexCount];
+    heap = new int[vertexCount];
+    heapPosition = new int[vertexCount];
+  }
+
+  /**
+   * Find a minimum cut. Can be called only once per instance, the graph gets merged.
+   *
+   * @return The cut
+   * @throws IllegalStateException When the graph has less than two vertices
+   */
+  public CutResult find() throws IllegalStateException {
+    if (vertexCount < 2) {
+      throw new IllegalStateException("A graph with less than two vertices can't be cut");
+    }
+    long bestWeight = Long.MAX_VALUE;
+    boolean[] bestPart = null;
+    for (int remaining = vertexCount; remaining > 1; --remaining) {
+      buildAdjacency();
+      long phaseCut = orderByMaximumAdjacency(remaining);
+      // The last two ordered vertices, stored behind the (now empty) heap
+      int t = heap[0];
+      int s = heap[1];
+      if (phaseCut < bestWeight) {
+        bestWeight = phaseCut;
+        bestPart = new boolean[vertexCount];
+        for (int v = t; v >= 0; v = nextMember[v]) {
+          bestPart[v] = true;
+        }
+        if (bestWeight == 0) {
+          break;
+        }
+      }
+      merge(s, t);
+    }
+    return CutResult.of(graph, bestPart);
+  }
+
+  /**
+   * Sort the current edges into CSR arrays, each edge in both directions.
+   */
+  private void buildAdjacency() {
+    Arrays.fill(offsets, 0);
+    for (int i = 0; i < edgeCount; ++i) {
+      offsets[edgeFirst[i] + 1]++;
+      offsets[edgeSecond[i] + 1]++;
+    }
+    for (int v = 0; v < vertexCount; ++v) {
+      offsets[v + 1] += offsets[v];
+    }
+    // Fill each vertex's slice from its end: offsets[v + 1] ends up at the start of the slice
+    for (int i = 0; i < edgeCount; ++i) {
+      int u = edgeFirst[i];
+      int v = edgeSecond[i];
+      int uSlot = --offsets[u + 1];
+      neighbors[uSlot] = v;
+      neighborWeights[uSlot] = edgeWeights[i];
+      int vSlot = --offsets[v + 1];
+      neighbors[vSlot] = u;
+      neighborWeights[vSlot] = edgeWeights[i];
+    }
+    System.arraycopy(offsets, 1, offsets, 0, vertexCount);
+    offsets[vertexCount] = edgeCount * 2;
+  }
+
+  /**
+   * Run one phase: take the vertices in the maximum adjacency order. The extracted vertices
+   * are moved behind the heap, so at the end heap[0] is the last one and heap[1] the one before.
+   *
+   * @param remaining The number of vertices which have not been merged into another
+   * @return The cut of the phase: the weight of the edges of the last vertex
+   */
+  private long orderByMaximumAdjacency(int remaining) {
+    heapSize = 0;
+    for (int v = 0; v < vertexCount; ++v) {
+      keys[v] = 0;
+      heapPosition[v] = -1;
+      if (!merged[v]) {
+        heapPosition[v] = heapSize;
+        heap[heapSize++] = v;
+      }
+    }
+    long lastKey = 0;
+    for (int i = 0; i < remaining; ++i) {
+      int u = heap[0];
+      lastKey = keys[u];
+      removeTop();
+      heap[heapSize] = u;
+      for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+        int v = neighbors[e];
+        if (heapPosition[v] >= 0) {
+          keys[v] += neighborWeights[e];
+          siftUp(heapPosition[v]);
+        }
+      }
+    }
+    return lastKey;
+  }
+
+  private void removeTop() {
+    int top = heap[0];
+    heapPosition[top] = -1;
+    heapSize--;
+    if (heapSize > 0) {
+      int last = heap[heapSize];
+      heap[0] = last;
+      heapPosition[last] = 0;
+      siftDown(0);
+    }
+  }
+
+  private void siftUp(int position) {
+    int v = heap[position];
+    while (position > 0) {
+      int parent = (position - 1) / 2;
+      if (keys[heap[parent]] >= keys[v]) {
+        break;
+      }
+      heap[position] = heap[parent];
+      heapPosition[heap[position]] = position;
+      position = parent;
+    }
+    heap[position] = v;
+    heapPosition[v] = position;
+  }
+
+  private void siftDown(int position) {
+    int v = heap[position];
+    while (true) {
+      int child = position * 2 + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      if (child + 1 < heapSize && keys[heap[child + 1]] > keys[heap[child]]) {
+        child++;
+      }
+      if (keys[heap[child]] <= keys[v]) {
+        break;
+      }
+      heap[position] = heap[child];
+      heapPosition[heap[position]] = position;
+      position = child;
+    }
+    heap[position] = v;
+    heapPosition[v] = position;
+  }
+
+  /**
+   * Merge vertex t into vertex s: move the edges of t to s, drop the edges between them.
+   */
+  private void merge(int s, int t) {
+    nextMember[lastMember[s]] = t;
+    lastMember[s] = lastMember[t];
+    merged[t] = true;
+    int kept = 0;
+    for (int i = 0; i < edgeCount; ++i) {
+      int u = edgeFirst[i] == t ? s : edgeFirst[i];
+      int v = edgeSecond[i] == t ? s : edgeSecond[i];
+      if (u != v) {
+        edgeFirst[kept] = u;
+        edgeSecond[kept] = v;
+        edgeWeights[kept] = edgeWeights[i];
+        kept++;
+      }
+    }
+    edgeCount = kept;
+  }
+}
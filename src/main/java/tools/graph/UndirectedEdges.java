@@ -0,0 +1,48 @@
+package tools.graph;
+
+/**
+ * The edges of a graph as plain arrays of endpoints and weights, each connection once, without
+ * the self-loops. Used by the global minimum cut searches, which contract edges of a graph and
+ * don't care about the direction of the edges.
+ */
+final class UndirectedEdges {
+  final int[] first;
+  final int[] second;
+  final long[] weights;
+  final int count;
+
+  UndirectedEdges(int[] first, int[] second, long[] weights, int count) {
+    this.first = first;
+    this.second = second;
+    this.weights = weights;
+    this.count = count;
+  }
+
+  /**
+   * Collect the edges of a graph. A bidirectional graph stores each connection in both
+   * directions, only the one from the lower to the higher id is taken.
+   *
+   * @param graph The graph
+   * @return The edges
+   */
+  static UndirectedEdges of(CsrGraph graph) {
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int[] first = new int[graph.getEdgeCount()];
+    int[] second = new int[graph.getEdgeCount()];
+    long[] weights = new long[graph.getEdgeCount()];
+    int count = 0;
+    for (int u = 0; u < graph.getVertexCount(); ++u) {
+      for (int e = offsets[u]; e < offsets[u + 1]; ++e) {
+        int v = targets[e];
+        if (u != v && (!graph.isBidirectional() || u < v)) {
+          first[count] = u;
+          second[count] = v;
+          weights[count] = graph.getCapacity(e);
+          count++;
+        }
+      }
+    }
+    return new UndirectedEdges(first, second, weights, count);
+  }
+}
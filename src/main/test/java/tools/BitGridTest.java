@@ -0,0 +1,79 @@
+package tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BitGridTest {
+  @Test
+  void testSetAndClear() {
+    BitGrid grid = new BitGrid(3, 70);
+    grid.set(1, 63);
+    grid.set(1, 64);
+    grid.set(new Vector(69, 2));
+    assertTrue(grid.test(1, 63));
+    assertTrue(grid.test(1, 64));
+    assertFalse(grid.test(0, 64));
+    assertEquals(3, grid.popCount());
+    grid.clear(1, 63);
+    assertFalse(grid.test(1, 63));
+    assertEquals(2, grid.popCount());
+    grid.clearAll();
+    assertEquals(0, grid.popCount());
+    assertThrows(IllegalArgumentException.class, () -> grid.set(0, 70));
+    assertThrows(IllegalArgumentException.class, () -> grid.test(3, 0));
+  }
+
+  @Test
+  void testShift() {
+    BitGrid grid = new BitGrid(3, 70);
+    grid.set(1, 63);
+    grid.set(0, 69);
+    grid.set(2, 0);
+
+    BitGrid east = grid.shifted(Direction.EAST);
+    assertEquals(2, east.popCount()); // (0, 69) drops out
+    assertTrue(east.test(1, 64));
+    assertTrue(east.test(2, 1));
+
+    BitGrid west = grid.shifted(Direction.WEST);
+    assertEquals(2, west.popCount()); // (2, 0) drops out
+    assertTrue(west.test(1, 62));
+    assertTrue(west.test(0, 68));
+
+    BitGrid north = grid.shifted(Direction.NORTH);
+    assertEquals(2, north.popCount());
+    assertTrue(north.test(0, 63));
+    assertTrue(north.test(1, 0));
+
+    BitGrid south = grid.shifted(Direction.SOUTH);
+    assertEquals(2, south.popCount());
+    assertTrue(south.test(1, 69));
+    assertTrue(south.test(2, 63));
+
+    BitGrid empty = new BitGrid(0, 70);
+    for (Direction direction : Direction.values()) {
+      assertEquals(0, empty.shifted(direction).popCount());
+    }
+  }
+
+  @Test
+  void testAndOr() {
+    BitGrid a = new BitGrid(2, 5);
+    BitGrid b = new BitGrid(2, 5);
+    a.set(0, 1);
+    a.set(1, 4);
+    b.set(1, 4);
+    b.set(1, 0);
+    BitGrid union = a.createCopy();
+    union.or(b);
+    assertEquals(3, union.popCount());
+    a.and(b);
+    assertEquals(1, a.popCount());
+    assertTrue(a.test(1, 4));
+    assertThrows(IllegalArgumentException.class, () -> a.and(new BitGrid(2, 6)));
+  }
+}
@@ -0,0 +1,61 @@
+package tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FlatCharGridTest {
+  @Test
+  void testAccess() {
+    FlatCharGrid grid = new FlatCharGrid();
+    for (int row = 0; row < 20; ++row) {
+      grid.appendRow(row % 2 == 0 ? "ab#" : "cd.");
+    }
+    assertEquals(20, grid.getRowCount());
+    assertEquals(3, grid.getColumnCount());
+    assertEquals('d', grid.getCharacter(19, 1));
+    assertEquals('#', grid.getCharacterUnchecked(18, 2));
+    grid.setCharacter(5, 0, 'X');
+    assertEquals("Xd.", grid.getRow(5));
+    assertEquals("acac", grid.getColumnAsString(0).substring(0, 4));
+    assertThrows(IllegalArgumentException.class, () -> grid.getCharacter(20, 0));
+    assertThrows(IllegalArgumentException.class, () -> grid.getCharacter(0, 3));
+    assertThrows(IllegalArgumentException.class, () -> grid.appendRow("abcd"));
+  }
+
+  @Test
+  void testFindCharacterLocations() {
+    FlatCharGrid grid = FlatCharGrid.createWithFill(3, 4, '.');
+    grid.setCharacter(1, 2, 'S');
+    grid.setCharacter(2, 3, 'S');
+    assertEquals(List.of(new Vector(2, 1), new Vector(3, 2)), grid.findCharacterLocations('S'));
+  }
+
+  @Test
+  void testScanning() {
+    // Wider than any SIMD register, so that both the vector loop and the tail are used
+    FlatCharGrid grid = FlatCharGrid.createWithFill(4, 70, '.');
+    grid.setCharacter(1, 69, '#');
+    grid.setCharacter(3, 5, '#');
+    grid.setCharacter(3, 69, '#');
+    assertTrue(grid.isRowFilledWith(0, '.'));
+    assertFalse(grid.isRowFilledWith(1, '.'));
+    boolean[] emptyColumns = grid.findColumnsFilledWith('.');
+    assertFalse(emptyColumns[5]);
+    assertFalse(emptyColumns[69]);
+    assertTrue(emptyColumns[6]);
+    assertEquals(0, grid.countRowDifferences(0, 2));
+    assertEquals(2, grid.countRowDifferences(0, 3));
+    assertEquals(1, grid.countRowDifferences(1, 3));
+    FlatCharGrid transposed = grid.transpose();
+    assertEquals(70, transposed.getRowCount());
+    assertEquals(".#.#", transposed.getRow(69));
+    char[] chars = (".".repeat(75) + "#####").toCharArray();
+    assertEquals(75, GridScanner.getInstance().indexOf(chars, 0, 80, '#'));
+    assertEquals(-1, new ScalarGridScanner().indexOf(chars, 0, 75, '#'));
+  }
+}
@@ -0,0 +1,34 @@
+package tools;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class LineSliceTest {
+  @Test
+  void testSpacedIntegers() {
+    expectIntegers("", new long[]{});
+    expectIntegers("   ", new long[]{});
+    expectIntegers("7", new long[]{7});
+    expectIntegers(" 79 14   55 -13 ", new long[]{79, 14, 55, -13});
+    expectIntegers("3745679801 0", new long[]{3745679801L, 0});
+    assertThrows(NumberFormatException.class, () -> expectIntegers("12 a3", new long[]{}));
+    assertThrows(NumberFormatException.class, () -> expectIntegers("12 - 3", new long[]{}));
+  }
+
+  private void expectIntegers(String line, long[] expected) {
+    GrowableLongArray numbers = new GrowableLongArray(1);
+    int count = LineSlice.fromString(line).parseSpacedIntegers(numbers);
+    assertEquals(expected.length, count);
+    assertArrayEquals(expected, numbers.toArray());
+  }
+
+  @Test
+  void testDigitsIgnoringSpaces() {
+    assertEquals(71530, LineSlice.fromString("   7  15   30").parseDigitsIgnoringSpaces());
+    assertThrows(NumberFormatException.class,
+        () -> LineSlice.fromString("   ").parseDigitsIgnoringSpaces());
+  }
+}
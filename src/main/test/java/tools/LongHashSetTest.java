@@ -0,0 +1,66 @@
+package tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LongHashSetTest {
+  @Test
+  void testAddAndRemove() {
+    LongHashSet set = new LongHashSet(2);
+    for (int i = 0; i < 1000; ++i) {
+      assertTrue(set.add(PackedVector.of(i % 40, i / 40)));
+    }
+    assertFalse(set.add(PackedVector.of(0, 0)));
+    assertEquals(1000, set.size());
+    for (int i = 0; i < 1000; i += 2) {
+      assertTrue(set.remove(PackedVector.of(i % 40, i / 40)));
+    }
+    assertFalse(set.remove(PackedVector.of(0, 0)));
+    assertEquals(500, set.size());
+    for (int i = 0; i < 1000; ++i) {
+      assertEquals(i % 2 == 1, set.contains(PackedVector.of(i % 40, i / 40)));
+    }
+    set.clear();
+    assertTrue(set.isEmpty());
+  }
+
+  @Test
+  void testEmptyMarkerValue() {
+    LongHashSet set = new LongHashSet();
+    assertFalse(set.contains(Long.MIN_VALUE));
+    assertTrue(set.add(Long.MIN_VALUE));
+    assertTrue(set.contains(Long.MIN_VALUE));
+    assertEquals(1, set.size());
+    assertTrue(set.remove(Long.MIN_VALUE));
+    assertTrue(set.isEmpty());
+  }
+
+  @Test
+  void testPackedVector() {
+    long packed = PackedVector.of(new Vector(-3, 7));
+    assertEquals(-3, PackedVector.column(packed));
+    assertEquals(7, PackedVector.row(packed));
+    assertEquals(new Vector(-4, 7),
+        PackedVector.toVector(PackedVector.step(packed, Direction.WEST)));
+    assertEquals(new Vector(-3, 6),
+        PackedVector.toVector(PackedVector.step(packed, Direction.NORTH)));
+  }
+
+  @Test
+  void testLongLongMap() {
+    LongLongMap map = new LongLongMap();
+    for (long i = -500; i < 500; ++i) {
+      map.put(i, i * 2);
+    }
+    map.put(7, 0);
+    assertEquals(1000, map.size());
+    assertEquals(0, map.get(7, -1));
+    assertEquals(-1000, map.get(-500, -1));
+    assertEquals(-1, map.get(500, -1));
+    assertTrue(map.containsKey(499));
+    assertFalse(map.containsKey(Long.MIN_VALUE));
+  }
+}
@@ -0,0 +1,45 @@
+package tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileTest {
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testLineSlices() throws IOException {
+    MappedFile file = new MappedFile(createFile("abc\r\n\nSeeds: 12 3\nlast"));
+    assertEquals("abc", file.readLine().toString());
+    assertTrue(file.readLine().isEmpty());
+    LineSlice slice = file.readLine();
+    assertTrue(slice.startsWith("Seeds:"));
+    assertEquals(" 12 3", slice.subSlice(6).toString());
+    assertEquals("last", file.readLine().toString());
+    assertNull(file.readLine());
+    assertTrue(file.isEndOfFile());
+  }
+
+  @Test
+  void testCompatibilityLayer() throws IOException {
+    InputFile inputFile = InputFile.openMapped(createFile("12\n34\n\nx"));
+    assertTrue(inputFile.exists());
+    assertEquals(12, inputFile.readLineAsInteger().getValue());
+    assertEquals(1, inputFile.readLinesUntilEmptyLine().size());
+    assertEquals('x', inputFile.readOneChar());
+    assertNull(inputFile.readOneChar());
+  }
+
+  private String createFile(String content) throws IOException {
+    Path file = tempDir.resolve("input.txt");
+    Files.writeString(file, content);
+    return file.toString();
+  }
+}
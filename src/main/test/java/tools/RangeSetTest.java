@@ -0,0 +1,56 @@
+package tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RangeSetTest {
+  @Test
+  void testCreationMergesRanges() {
+    RangeSet set = RangeSet.of(List.of(new IntegerRange(10, 20), new IntegerRange(-5, 3),
+        new IntegerRange(4, 6), new IntegerRange(15, 25)));
+    assertEquals(2, set.getRangeCount());
+    assertEquals(new IntegerRange(-5, 6), set.getRange(0));
+    assertEquals(new IntegerRange(10, 25), set.getRange(1));
+    assertEquals(28, set.getTotalLength());
+    assertTrue(set.containsValue(-5));
+    assertTrue(set.containsValue(25));
+    assertFalse(set.containsValue(7));
+    assertTrue(set.containsFully(new IntegerRange(11, 25)));
+    assertFalse(set.containsFully(new IntegerRange(5, 10)));
+    assertThrows(IllegalArgumentException.class, () -> RangeSet.of(0, Long.MAX_VALUE));
+  }
+
+  @Test
+  void testSetOperations() {
+    RangeSet a = RangeSet.of(List.of(new IntegerRange(1, 10), new IntegerRange(20, 30)));
+    RangeSet b = RangeSet.of(List.of(new IntegerRange(5, 22), new IntegerRange(40, 40)));
+    assertEquals(List.of(new IntegerRange(1, 30), new IntegerRange(40, 40)),
+        a.union(b).getRanges());
+    assertEquals(List.of(new IntegerRange(5, 10), new IntegerRange(20, 22)),
+        a.intersection(b).getRanges());
+    assertEquals(List.of(new IntegerRange(1, 4), new IntegerRange(23, 30)),
+        a.difference(b).getRanges());
+    assertEquals(List.of(new IntegerRange(0, 0), new IntegerRange(11, 19),
+        new IntegerRange(31, 35)), a.complement(new IntegerRange(0, 35)).getRanges());
+    assertTrue(a.difference(a).isEmpty());
+    // Touching ranges are merged
+    assertEquals(RangeSet.of(1, 30), a.union(RangeSet.of(11, 19)));
+  }
+
+  @Test
+  void testStructuralSharing() {
+    RangeSet big = RangeSet.of(0, 100);
+    RangeSet small = RangeSet.of(10, 20);
+    assertSame(big, big.union(small));
+    assertSame(small, big.intersection(small));
+    assertSame(small, small.difference(RangeSet.of(50, 60)));
+    assertSame(small, RangeSet.EMPTY.union(small));
+    assertSame(RangeSet.EMPTY, small.intersection(RangeSet.of(30, 40)));
+  }
+}
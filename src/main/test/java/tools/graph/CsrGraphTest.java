@@ -0,0 +1,57 @@
+package tools.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class CsrGraphTest {
+  @Test
+  void testBuildBidirectional() {
+    GraphBuilder builder = new GraphBuilder(true);
+    builder.addEdge("a", "b");
+    builder.addEdge("a", "c");
+    builder.addEdge("c", "d");
+    CsrGraph graph = builder.build();
+    assertEquals(4, graph.getVertexCount());
+    assertEquals(6, graph.getEdgeCount());
+    assertEquals(0, graph.getId("a"));
+    assertEquals("d", graph.getName(3));
+    assertEquals(2, graph.getDegree(graph.getId("a")));
+    assertEquals(2, graph.getDegree(graph.getId("c")));
+    assertEquals(1, graph.getDegree(graph.getId("d")));
+    assertFalse(graph.hasCapacities());
+    assertEquals(1, graph.getCapacity(0));
+    assertThrows(IllegalArgumentException.class, () -> graph.getId("x"));
+
+    int c = graph.getId("c");
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int targetSum = 0;
+    for (int e = offsets[c]; e < offsets[c + 1]; ++e) {
+      targetSum += targets[e];
+    }
+    assertEquals(graph.getId("a") + graph.getId("d"), targetSum);
+  }
+
+  @Test
+  void testCapacitiesAndAdapters() {
+    GraphBuilder builder = new GraphBuilder(false);
+    builder.addEdge("s", "t", 5);
+    CsrGraph graph = builder.build();
+    assertTrue(graph.hasCapacities());
+    assertEquals(5, graph.getCapacity(0));
+    assertThrows(IllegalStateException.class, graph::toBidirectionalGraph);
+
+    BidirectionalGraph stringGraph = new BidirectionalGraph();
+    stringGraph.addBidirectionalEdge("x", "y");
+    stringGraph.addBidirectionalEdge("y", "z");
+    CsrGraph converted = CsrGraph.from(stringGraph);
+    assertEquals(3, converted.getVertexCount());
+    assertEquals(4, converted.getEdgeCount());
+    assertEquals(2, converted.getDegree(converted.getId("y")));
+    assertEquals(3, converted.toBidirectionalGraph().getVertexCount());
+  }
+}
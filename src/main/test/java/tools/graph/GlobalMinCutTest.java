@@ -0,0 +1,72 @@
+package tools.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class GlobalMinCutTest {
+  /**
+   * Two cliques of 6 vertices, connected by three edges.
+   */
+  private static CsrGraph createTwoClusters() {
+    GraphBuilder builder = new GraphBuilder(true);
+    for (int i = 0; i < 6; ++i) {
+      for (int j = i + 1; j < 6; ++j) {
+        builder.addEdge("a" + i, "a" + j);
+        builder.addEdge("b" + i, "b" + j);
+      }
+    }
+    builder.addEdge("a0", "b0");
+    builder.addEdge("a1", "b1");
+    builder.addEdge("a2", "b2");
+    return builder.build();
+  }
+
+  private static void assertClustersFound(CsrGraph graph, CutResult cut) {
+    assertEquals(3, cut.getWeight());
+    assertEquals(3, cut.getCutEdges().length);
+    assertEquals(6, cut.getFirstPartSize());
+    assertEquals(6, cut.getSecondPartSize());
+    for (int i = 0; i < 6; ++i) {
+      assertEquals(cut.isInFirstPart(graph.getId("a0")), cut.isInFirstPart(graph.getId("a" + i)));
+      assertNotEquals(cut.isInFirstPart(graph.getId("a0")),
+          cut.isInFirstPart(graph.getId("b" + i)));
+    }
+  }
+
+  @Test
+  void testStoerWagner() {
+    CsrGraph graph = createTwoClusters();
+    assertClustersFound(graph, new StoerWagnerMinCut(graph).find());
+  }
+
+  @Test
+  void testKargerStein() {
+    CsrGraph graph = createTwoClusters();
+    assertClustersFound(graph, new KargerSteinMinCut(graph, 20, 2, 1).find());
+  }
+
+  @Test
+  void testWeightedAndDisconnected() {
+    GraphBuilder builder = new GraphBuilder(true);
+    builder.addEdge("a", "b", 5);
+    builder.addEdge("b", "c", 2);
+    builder.addEdge("c", "a", 4);
+    CsrGraph triangle = builder.build();
+    CutResult cut = new StoerWagnerMinCut(triangle).find();
+    assertEquals(6, cut.getWeight());
+    assertEquals(1, Math.min(cut.getFirstPartSize(), cut.getSecondPartSize()));
+    assertEquals(6, new KargerSteinMinCut(triangle, 5, 1, 1).find().getWeight());
+
+    builder.addEdge("x", "y", 3);
+    CsrGraph disconnected = builder.build();
+    assertEquals(0, new StoerWagnerMinCut(disconnected).find().getWeight());
+    assertEquals(0, new KargerSteinMinCut(disconnected, 5, 1, 1).find().getWeight());
+
+    GraphBuilder single = new GraphBuilder(true);
+    single.addVertex("a");
+    assertThrows(IllegalStateException.class, () -> new StoerWagnerMinCut(single.build()).find());
+  }
+}
@@ -0,0 +1,48 @@
+package tools.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class GraphExporterTest {
+  private static String export(CsrGraph graph, GraphExporter.Format format) throws IOException {
+    StringWriter writer = new StringWriter();
+    GraphExporter.write(graph, writer, format);
+    return writer.toString();
+  }
+
+  @Test
+  void testDot() throws IOException {
+    GraphBuilder builder = new GraphBuilder(true);
+    builder.addEdge("a", "b");
+    builder.addEdge("c", "a");
+    builder.addVertex("d");
+    assertEquals("graph g {\n  a -- {b c}\n  d\n}\n",
+        export(builder.build(), GraphExporter.Format.DOT));
+
+    GraphBuilder directed = new GraphBuilder(false);
+    directed.addEdge("a", "b", 3);
+    directed.addEdge("b", "a", 4);
+    assertEquals("digraph g {\n  a -> b [label=3]\n  b -> a [label=4]\n}\n",
+        export(directed.build(), GraphExporter.Format.DOT));
+  }
+
+  @Test
+  void testGraphMl() throws IOException {
+    GraphBuilder builder = new GraphBuilder(true);
+    builder.addEdge("a&b", "c");
+    assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n"
+            + "  <graph id=\"g\" edgedefault=\"undirected\">\n"
+            + "    <node id=\"a&amp;b\"/>\n"
+            + "    <node id=\"c\"/>\n"
+            + "    <edge source=\"a&amp;b\" target=\"c\"/>\n"
+            + "  </graph>\n"
+            + "</graphml>\n",
+        export(builder.build(), GraphExporter.Format.GRAPHML));
+    assertEquals(GraphExporter.Format.GRAPHML, GraphExporter.Format.forFile("x.graphml"));
+    assertEquals(GraphExporter.Format.DOT, GraphExporter.Format.forFile("x.dot"));
+  }
+}
@@ -0,0 +1,55 @@
+package tools.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class MaxFlowTest {
+  @Test
+  void testDirectedWithCapacities() {
+    // The classic example: the flow must be rerouted over the reverse of the b -> c edge
+    GraphBuilder builder = new GraphBuilder(false);
+    builder.addEdge("s", "a", 10);
+    builder.addEdge("s", "b", 10);
+    builder.addEdge("a", "b", 2);
+    builder.addEdge("a", "c", 4);
+    builder.addEdge("a", "d", 8);
+    builder.addEdge("b", "d", 9);
+    builder.addEdge("d", "c", 6);
+    builder.addEdge("c", "t", 10);
+    builder.addEdge("d", "t", 10);
+    CsrGraph graph = builder.build();
+    FlowResult result = new MaxFlow(graph).find(graph.getId("s"), graph.getId("t"));
+    assertEquals(19, result.getFlowValue());
+    long cutCapacity = 0;
+    for (int edge : result.getCutEdges()) {
+      cutCapacity += graph.getCapacity(edge);
+    }
+    assertEquals(19, cutCapacity);
+    assertTrue(result.isOnSourceSide(graph.getId("s")));
+    assertFalse(result.isOnSourceSide(graph.getId("t")));
+  }
+
+  @Test
+  void testTwoClustersConnectedByTwoEdges() {
+    GraphBuilder builder = new GraphBuilder(true);
+    String[] left = {"a", "b", "c", "d"};
+    String[] right = {"w", "x", "y", "z"};
+    for (int i = 0; i < left.length; ++i) {
+      for (int j = i + 1; j < left.length; ++j) {
+        builder.addEdge(left[i], left[j]);
+        builder.addEdge(right[i], right[j]);
+      }
+    }
+    builder.addEdge("a", "w");
+    builder.addEdge("d", "z");
+    CsrGraph graph = builder.build();
+    FlowResult result = new MaxFlow(graph).find(graph.getId("b"), graph.getId("y"));
+    assertEquals(2, result.getFlowValue());
+    assertEquals(2, result.getCutEdges().length);
+    assertEquals(4, result.getSourceSideSize());
+    assertEquals(4, result.getSinkSideSize());
+  }
+}
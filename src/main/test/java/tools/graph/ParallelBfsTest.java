@@ -0,0 +1,96 @@
+package tools.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ParallelBfsTest {
+  @Test
+  void testSearch() {
+    GraphBuilder builder = new GraphBuilder(true);
+    builder.addEdge("a", "b");
+    builder.addEdge("b", "c");
+    builder.addEdge("c", "d");
+    builder.addEdge("a", "e");
+    builder.addEdge("e", "d");
+    builder.addEdge("x", "y");
+    CsrGraph graph = builder.build();
+    BfsResult result = new ParallelBfs(graph, 2).search(graph.getId("a"));
+    assertEquals(5, result.getReachedCount());
+    assertEquals(0, result.getDistance(graph.getId("a")));
+    assertEquals(2, result.getDistance(graph.getId("c")));
+    assertEquals(2, result.getDistance(graph.getId("d")));
+    assertEquals(graph.getId("e"), result.getParents()[graph.getId("d")]);
+    assertFalse(result.isReached(graph.getId("x")));
+    assertEquals(BfsResult.UNREACHED, result.getDistance(graph.getId("y")));
+
+    List<String> steps = new ArrayList<>();
+    for (PathVertex vertex : result.constructPath(graph.getId("d"))) {
+      steps.add(vertex.toString());
+    }
+    assertEquals(List.of("a -(1)-> e", "e -(2)-> d"), steps);
+    assertFalse(result.constructPath(graph.getId("a")).iterator().hasNext());
+    assertNull(result.constructPath(graph.getId("x")));
+  }
+
+  @Test
+  void testWideFrontiers() {
+    // A hub with thousands of neighbors and random edges among all the vertices: the frontiers
+    // are larger than a chunk, so they are split and expanded concurrently
+    Random random = new Random(1);
+    GraphBuilder builder = new GraphBuilder(true);
+    for (int v = 1; v < 3000; ++v) {
+      builder.addEdge("0", String.valueOf(v));
+    }
+    for (int i = 0; i < 40000; ++i) {
+      builder.addEdge(String.valueOf(random.nextInt(20000)),
+          String.valueOf(random.nextInt(20000)));
+    }
+    CsrGraph graph = builder.build();
+    int source = graph.getId("0");
+    BfsResult result = new ParallelBfs(graph, 4).search(source);
+
+    int[] expected = searchSequentially(graph, source);
+    assertEquals(Arrays.stream(expected).filter(d -> d >= 0).count(), result.getReachedCount());
+    int[] levelSizes = new int[graph.getVertexCount()];
+    for (int v = 0; v < graph.getVertexCount(); ++v) {
+      assertEquals(expected[v], result.getDistance(v));
+      int parent = result.getParents()[v];
+      if (v == source || !result.isReached(v)) {
+        assertEquals(BfsResult.UNREACHED, parent);
+      } else {
+        assertEquals(result.getDistance(v) - 1, result.getDistance(parent));
+        levelSizes[result.getDistance(v)]++;
+      }
+    }
+    assertTrue(Arrays.stream(levelSizes).max().getAsInt() > 1024);
+  }
+
+  private static int[] searchSequentially(CsrGraph graph, int source) {
+    int[] distances = new int[graph.getVertexCount()];
+    Arrays.fill(distances, BfsResult.UNREACHED);
+    distances[source] = 0;
+    Queue<Integer> queue = new ArrayDeque<>();
+    queue.add(source);
+    while (!queue.isEmpty()) {
+      int u = queue.poll();
+      for (int e = graph.getOffsets()[u]; e < graph.getOffsets()[u + 1]; ++e) {
+        int v = graph.getTargets()[e];
+        if (distances[v] == BfsResult.UNREACHED) {
+          distances[v] = distances[u] + 1;
+          queue.add(v);
+        }
+      }
+    }
+    return distances;
+  }
+}